@@ -0,0 +1,37 @@
+package collection_domain;
+
+public final class HashUtils {
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private HashUtils() {
+    }
+
+    public static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    public static int spread(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    public static int hash(Object obj) {
+        return spread(obj.hashCode());
+    }
+
+    public static int tableSizeFor(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    public static int tableSizeFor(long expectedSize, double loadFactor) {
+        long capacity = (long) Math.ceil(expectedSize / loadFactor);
+        return tableSizeFor((int) Math.min(capacity, MAXIMUM_CAPACITY));
+    }
+}
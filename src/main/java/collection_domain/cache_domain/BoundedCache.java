@@ -0,0 +1,221 @@
+package collection_domain.cache_domain;
+
+import collection_domain.HashUtils;
+
+public class BoundedCache<K, V> implements Cache<K, V> {
+    private final static int DEFAULT_CAPACITY = 16;
+    private final long maximumWeight;
+    private final Weigher<? super K, ? super V> weigher;
+    private final EvictionListener<? super K, ? super V> listener;
+    private final EvictionQueue<K, V> queue;
+    private CacheEntry<K, V>[] table;
+    private int size;
+    private long weightedSize;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long evictionWeight;
+
+    public BoundedCache(long maximumWeight, EvictionPolicy policy, Weigher<? super K, ? super V> weigher,
+                        EvictionListener<? super K, ? super V> listener) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Wrong maximum weight");
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher == null ? (k, v) -> 1 : weigher;
+        this.listener = listener;
+        this.queue = policy.createQueue(maximumWeight);
+        allocateTable(DEFAULT_CAPACITY);
+    }
+
+    public BoundedCache(long maximumSize, EvictionPolicy policy) {
+        this(maximumSize, policy, null, null);
+    }
+
+    public BoundedCache(long maximumSize) {
+        this(maximumSize, EvictionPolicy.LRU);
+    }
+
+    private void allocateTable(int capacity) {
+        table = newTable(capacity);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> CacheEntry<K, V>[] newTable(int capacity) {
+        return (CacheEntry<K, V>[]) new CacheEntry[capacity];
+    }
+
+    private int findSlot(Object key, int hash) {
+        int mask = table.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            CacheEntry<K, V> entry = table[i];
+            if (entry == null) {
+                return -(i + 1);
+            }
+            if (entry.hash == hash && entry.key.equals(key)) {
+                return i;
+            }
+        }
+    }
+
+    private void deleteSlot(int slot) {
+        int mask = table.length - 1;
+        int hole = slot;
+        for (int i = (slot + 1) & mask; table[i] != null; i = (i + 1) & mask) {
+            int ideal = table[i].hash & mask;
+            if (((i - ideal) & mask) >= ((i - hole) & mask)) {
+                table[hole] = table[i];
+                hole = i;
+            }
+        }
+        table[hole] = null;
+    }
+
+    private void resize() {
+        CacheEntry<K, V>[] oldTable = table;
+        allocateTable(oldTable.length << 1);
+        int mask = table.length - 1;
+        for (CacheEntry<K, V> entry : oldTable) {
+            if (entry == null) {
+                continue;
+            }
+            int i = entry.hash & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i] = entry;
+        }
+    }
+
+    private int weigh(K key, V value) {
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Wrong weight");
+        }
+        return weight;
+    }
+
+    private void evictIfNeeded(CacheEntry<K, V> incoming) {
+        while (weightedSize > maximumWeight) {
+            CacheEntry<K, V> victim = queue.nextVictim(incoming);
+            unlinkEntry(findSlot(victim.key, victim.hash), victim);
+            notifyEviction(victim.key, victim.value, victim.weight);
+        }
+    }
+
+    private void notifyEviction(K key, V value, int weight) {
+        evictionCount++;
+        evictionWeight += weight;
+        if (listener != null) {
+            listener.onEviction(key, value);
+        }
+    }
+
+    private void unlinkEntry(int slot, CacheEntry<K, V> entry) {
+        deleteSlot(slot);
+        queue.remove(entry);
+        size--;
+        weightedSize -= entry.weight;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        int hash = HashUtils.hash(key);
+        int slot = findSlot(key, hash);
+        if (slot < 0) {
+            missCount++;
+            queue.recordMiss(hash);
+            return null;
+        }
+        hitCount++;
+        CacheEntry<K, V> entry = table[slot];
+        queue.recordAccess(entry);
+        return entry.value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            return null;
+        }
+        int hash = HashUtils.hash(key);
+        int weight = weigh(key, value);
+        int slot = findSlot(key, hash);
+        if (slot >= 0) {
+            CacheEntry<K, V> entry = table[slot];
+            V res = entry.value;
+            int delta = weight - entry.weight;
+            entry.value = value;
+            entry.weight = weight;
+            weightedSize += delta;
+            queue.recordWeightChange(entry, delta);
+            queue.recordAccess(entry);
+            evictIfNeeded(null);
+            return res;
+        }
+        if (weight > maximumWeight) {
+            notifyEviction(key, value, weight);
+            return null;
+        }
+        if (size >= table.length >> 1) {
+            resize();
+            slot = findSlot(key, hash);
+        }
+        CacheEntry<K, V> entry = new CacheEntry<>(key, hash, value, weight);
+        table[-slot - 1] = entry;
+        size++;
+        weightedSize += weight;
+        queue.add(entry);
+        evictIfNeeded(entry);
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = findSlot(key, HashUtils.hash(key));
+        if (slot < 0) {
+            return null;
+        }
+        CacheEntry<K, V> entry = table[slot];
+        unlinkEntry(slot, entry);
+        return entry.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return key != null && findSlot(key, HashUtils.hash(key)) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long getWeightedSize() {
+        return weightedSize;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    @Override
+    public void clear() {
+        allocateTable(DEFAULT_CAPACITY);
+        queue.clear();
+        size = 0;
+        weightedSize = 0;
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount, missCount, evictionCount, evictionWeight);
+    }
+}
@@ -0,0 +1,19 @@
+package collection_domain.cache_domain;
+
+public interface Cache<K, V> {
+    V get(K key);
+
+    V put(K key, V value);
+
+    V remove(K key);
+
+    boolean containsKey(K key);
+
+    int size();
+
+    long getWeightedSize();
+
+    void clear();
+
+    CacheStatistics getStatistics();
+}
@@ -0,0 +1,18 @@
+package collection_domain.cache_domain;
+
+class CacheEntry<K, V> {
+    final K key;
+    final int hash;
+    V value;
+    int weight;
+    CacheEntry<K, V> prev;
+    CacheEntry<K, V> next;
+    EntryList<K, V> list;
+
+    CacheEntry(K key, int hash, V value, int weight) {
+        this.key = key;
+        this.hash = hash;
+        this.value = value;
+        this.weight = weight;
+    }
+}
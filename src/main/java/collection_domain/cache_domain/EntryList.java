@@ -0,0 +1,48 @@
+package collection_domain.cache_domain;
+
+class EntryList<K, V> {
+    CacheEntry<K, V> head;
+    CacheEntry<K, V> tail;
+    long weight;
+
+    boolean isEmpty() {
+        return head == null;
+    }
+
+    void addLast(CacheEntry<K, V> entry) {
+        entry.list = this;
+        entry.prev = tail;
+        entry.next = null;
+        if (tail == null) {
+            head = entry;
+        } else {
+            tail.next = entry;
+        }
+        tail = entry;
+        weight += entry.weight;
+    }
+
+    void remove(CacheEntry<K, V> entry) {
+        if (entry.prev == null) {
+            head = entry.next;
+        } else {
+            entry.prev.next = entry.next;
+        }
+        if (entry.next == null) {
+            tail = entry.prev;
+        } else {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.list = null;
+        weight -= entry.weight;
+    }
+
+    void moveToLast(CacheEntry<K, V> entry) {
+        if (entry != tail) {
+            remove(entry);
+            addLast(entry);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package collection_domain.cache_domain;
+
+@FunctionalInterface
+public interface EvictionListener<K, V> {
+    void onEviction(K key, V value);
+}
@@ -0,0 +1,24 @@
+package collection_domain.cache_domain;
+
+public enum EvictionPolicy {
+    LRU {
+        @Override
+        <K, V> EvictionQueue<K, V> createQueue(long maximumWeight) {
+            return new LruQueue<>();
+        }
+    },
+    LFU {
+        @Override
+        <K, V> EvictionQueue<K, V> createQueue(long maximumWeight) {
+            return new LfuQueue<>();
+        }
+    },
+    TINY_LFU {
+        @Override
+        <K, V> EvictionQueue<K, V> createQueue(long maximumWeight) {
+            return new TinyLfuQueue<>(maximumWeight);
+        }
+    };
+
+    abstract <K, V> EvictionQueue<K, V> createQueue(long maximumWeight);
+}
@@ -0,0 +1,21 @@
+package collection_domain.cache_domain;
+
+abstract class EvictionQueue<K, V> {
+    abstract void add(CacheEntry<K, V> entry);
+
+    abstract void remove(CacheEntry<K, V> entry);
+
+    abstract void recordAccess(CacheEntry<K, V> entry);
+
+    // incoming is the entry whose insertion caused the eviction, or null
+    abstract CacheEntry<K, V> nextVictim(CacheEntry<K, V> incoming);
+
+    void recordMiss(int hash) {
+    }
+
+    void recordWeightChange(CacheEntry<K, V> entry, int delta) {
+        entry.list.weight += delta;
+    }
+
+    abstract void clear();
+}
@@ -0,0 +1,51 @@
+package collection_domain.cache_domain;
+
+import collection_domain.HashUtils;
+
+class FrequencySketch {
+    private final static int[] SEEDS = {0x97CB3127, 0xB3F4F1A1, 0x5D2A4C6B, 0x3C6EF372};
+    private final static int MAX_COUNT = 15;
+    private final byte[] counters;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(long maximumSize) {
+        int width = HashUtils.tableSizeFor((int) Math.min(Math.max(maximumSize, 16) * 4, 1 << 24));
+        counters = new byte[width];
+        sampleSize = (int) Math.min(Math.max(maximumSize, 16) * 10, Integer.MAX_VALUE);
+    }
+
+    private int indexOf(int hash, int row) {
+        return HashUtils.spread(hash ^ SEEDS[row]) & (counters.length - 1);
+    }
+
+    void increment(int hash) {
+        boolean incremented = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int i = indexOf(hash, row);
+            if (counters[i] < MAX_COUNT) {
+                counters[i]++;
+                incremented = true;
+            }
+        }
+        if (incremented && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    int frequency(int hash) {
+        int res = MAX_COUNT;
+        for (int row = 0; row < SEEDS.length; row++) {
+            res = Math.min(res, counters[indexOf(hash, row)]);
+        }
+        return res;
+    }
+
+    // halving keeps the sketch biased towards recent popularity
+    private void reset() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] >>= 1;
+        }
+        additions >>>= 1;
+    }
+}
@@ -0,0 +1,89 @@
+package collection_domain.cache_domain;
+
+class LfuQueue<K, V> extends EvictionQueue<K, V> {
+    private FrequencyBucket<K, V> lowest;
+
+    // entries sharing a use count, ordered by recency; buckets are ordered by increasing count
+    private static class FrequencyBucket<K, V> extends EntryList<K, V> {
+        final long frequency;
+        FrequencyBucket<K, V> prevBucket;
+        FrequencyBucket<K, V> nextBucket;
+
+        FrequencyBucket(long frequency) {
+            this.frequency = frequency;
+        }
+    }
+
+    private FrequencyBucket<K, V> insertBucketAfter(FrequencyBucket<K, V> bucket, long frequency) {
+        FrequencyBucket<K, V> res = new FrequencyBucket<>(frequency);
+        res.prevBucket = bucket;
+        res.nextBucket = bucket == null ? lowest : bucket.nextBucket;
+        if (res.nextBucket != null) {
+            res.nextBucket.prevBucket = res;
+        }
+        if (bucket == null) {
+            lowest = res;
+        } else {
+            bucket.nextBucket = res;
+        }
+        return res;
+    }
+
+    private void removeFromBucket(CacheEntry<K, V> entry) {
+        FrequencyBucket<K, V> bucket = (FrequencyBucket<K, V>) entry.list;
+        bucket.remove(entry);
+        if (!bucket.isEmpty()) {
+            return;
+        }
+        if (bucket.prevBucket == null) {
+            lowest = bucket.nextBucket;
+        } else {
+            bucket.prevBucket.nextBucket = bucket.nextBucket;
+        }
+        if (bucket.nextBucket != null) {
+            bucket.nextBucket.prevBucket = bucket.prevBucket;
+        }
+    }
+
+    @Override
+    void add(CacheEntry<K, V> entry) {
+        FrequencyBucket<K, V> bucket = lowest != null && lowest.frequency == 1 ? lowest : insertBucketAfter(null, 1);
+        bucket.addLast(entry);
+    }
+
+    @Override
+    void remove(CacheEntry<K, V> entry) {
+        removeFromBucket(entry);
+    }
+
+    @Override
+    void recordAccess(CacheEntry<K, V> entry) {
+        FrequencyBucket<K, V> bucket = (FrequencyBucket<K, V>) entry.list;
+        FrequencyBucket<K, V> next = bucket.nextBucket;
+        if (next == null || next.frequency != bucket.frequency + 1) {
+            next = insertBucketAfter(bucket, bucket.frequency + 1);
+        }
+        removeFromBucket(entry);
+        next.addLast(entry);
+    }
+
+    @Override
+    CacheEntry<K, V> nextVictim(CacheEntry<K, V> incoming) {
+        if (lowest == null) {
+            return null;
+        }
+        CacheEntry<K, V> victim = lowest.head;
+        if (victim != incoming) {
+            return victim;
+        }
+        if (victim.next != null) {
+            return victim.next;
+        }
+        return lowest.nextBucket == null ? victim : lowest.nextBucket.head;
+    }
+
+    @Override
+    void clear() {
+        lowest = null;
+    }
+}
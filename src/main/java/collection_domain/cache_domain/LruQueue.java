@@ -0,0 +1,30 @@
+package collection_domain.cache_domain;
+
+class LruQueue<K, V> extends EvictionQueue<K, V> {
+    private EntryList<K, V> entries = new EntryList<>();
+
+    @Override
+    void add(CacheEntry<K, V> entry) {
+        entries.addLast(entry);
+    }
+
+    @Override
+    void remove(CacheEntry<K, V> entry) {
+        entries.remove(entry);
+    }
+
+    @Override
+    void recordAccess(CacheEntry<K, V> entry) {
+        entries.moveToLast(entry);
+    }
+
+    @Override
+    CacheEntry<K, V> nextVictim(CacheEntry<K, V> incoming) {
+        return entries.head;
+    }
+
+    @Override
+    void clear() {
+        entries = new EntryList<>();
+    }
+}
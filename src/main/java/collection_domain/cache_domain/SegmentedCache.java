@@ -0,0 +1,128 @@
+package collection_domain.cache_domain;
+
+import collection_domain.HashUtils;
+
+public class SegmentedCache<K, V> implements Cache<K, V> {
+    private final static int DEFAULT_SEGMENTS = 16;
+    private final BoundedCache<K, V>[] segments;
+
+    // the segment limits add up to maximumWeight, so a single entry may weigh at most one segment's share
+    public SegmentedCache(int segmentsCount, long maximumWeight, EvictionPolicy policy,
+                          Weigher<? super K, ? super V> weigher, EvictionListener<? super K, ? super V> listener) {
+        if (segmentsCount <= 0) {
+            throw new IllegalArgumentException("Wrong number of segments");
+        }
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Wrong maximum weight");
+        }
+        int count = HashUtils.tableSizeFor(segmentsCount);
+        while (count > maximumWeight) {
+            count >>= 1;
+        }
+        long segmentWeight = maximumWeight / count;
+        long remainder = maximumWeight % count;
+        segments = newSegments(count);
+        for (int i = 0; i < count; i++) {
+            segments[i] = new BoundedCache<>(i < remainder ? segmentWeight + 1 : segmentWeight, policy, weigher, listener);
+        }
+    }
+
+    public SegmentedCache(long maximumSize, EvictionPolicy policy) {
+        this(DEFAULT_SEGMENTS, maximumSize, policy, null, null);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> BoundedCache<K, V>[] newSegments(int count) {
+        return (BoundedCache<K, V>[]) new BoundedCache[count];
+    }
+
+    private BoundedCache<K, V> segmentFor(Object key) {
+        return segments[(HashUtils.hash(key) >>> 16) & (segments.length - 1)];
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        BoundedCache<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null) {
+            return null;
+        }
+        BoundedCache<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        BoundedCache<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            return false;
+        }
+        BoundedCache<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.containsKey(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        int res = 0;
+        for (BoundedCache<K, V> segment : segments) {
+            synchronized (segment) {
+                res += segment.size();
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public long getWeightedSize() {
+        long res = 0;
+        for (BoundedCache<K, V> segment : segments) {
+            synchronized (segment) {
+                res += segment.getWeightedSize();
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public void clear() {
+        for (BoundedCache<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        CacheStatistics res = new CacheStatistics(0, 0, 0, 0);
+        for (BoundedCache<K, V> segment : segments) {
+            synchronized (segment) {
+                res = res.plus(segment.getStatistics());
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,86 @@
+package collection_domain.cache_domain;
+
+class TinyLfuQueue<K, V> extends EvictionQueue<K, V> {
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private final long protectedMaximum;
+    private final FrequencySketch sketch;
+    private EntryList<K, V> window = new EntryList<>();
+    private EntryList<K, V> probation = new EntryList<>();
+    private EntryList<K, V> protect = new EntryList<>();
+
+    TinyLfuQueue(long maximumWeight) {
+        windowMaximum = Math.max(1, maximumWeight / 100);
+        mainMaximum = Math.max(0, maximumWeight - windowMaximum);
+        protectedMaximum = mainMaximum * 8 / 10;
+        sketch = new FrequencySketch(maximumWeight);
+    }
+
+    private void drainWindow() {
+        while (window.weight > windowMaximum && window.head != null
+                && probation.weight + protect.weight + window.head.weight <= mainMaximum) {
+            CacheEntry<K, V> entry = window.head;
+            window.remove(entry);
+            probation.addLast(entry);
+        }
+    }
+
+    @Override
+    void add(CacheEntry<K, V> entry) {
+        sketch.increment(entry.hash);
+        window.addLast(entry);
+        drainWindow();
+    }
+
+    @Override
+    void remove(CacheEntry<K, V> entry) {
+        entry.list.remove(entry);
+    }
+
+    @Override
+    void recordAccess(CacheEntry<K, V> entry) {
+        sketch.increment(entry.hash);
+        if (entry.list == probation) {
+            probation.remove(entry);
+            protect.addLast(entry);
+            while (protect.weight > protectedMaximum && protect.head != null) {
+                CacheEntry<K, V> demoted = protect.head;
+                protect.remove(demoted);
+                probation.addLast(demoted);
+            }
+        } else {
+            entry.list.moveToLast(entry);
+        }
+    }
+
+    @Override
+    void recordMiss(int hash) {
+        sketch.increment(hash);
+    }
+
+    // the window's oldest entry is admitted to the main space only if it is more popular than the main victim
+    @Override
+    CacheEntry<K, V> nextVictim(CacheEntry<K, V> incoming) {
+        CacheEntry<K, V> victim = probation.head != null ? probation.head : protect.head;
+        if (window.weight > windowMaximum && window.head != null) {
+            CacheEntry<K, V> candidate = window.head;
+            if (victim == null) {
+                return candidate;
+            }
+            if (sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+                window.remove(candidate);
+                probation.addLast(candidate);
+                return victim;
+            }
+            return candidate;
+        }
+        return victim != null ? victim : window.head;
+    }
+
+    @Override
+    void clear() {
+        window = new EntryList<>();
+        probation = new EntryList<>();
+        protect = new EntryList<>();
+    }
+}
@@ -0,0 +1,6 @@
+package collection_domain.cache_domain;
+
+@FunctionalInterface
+public interface Weigher<K, V> {
+    int weigh(K key, V value);
+}
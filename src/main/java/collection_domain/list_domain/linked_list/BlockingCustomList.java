@@ -4,13 +4,48 @@ import collection_domain.ICollection;
 import collection_domain.list_domain.ICollectionIndexed;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Predicate;
 
 public class BlockingCustomList<T> implements ICollectionIndexed<T> {
+    private final static int MAX_SPINS = 128;
+    private final static long PARK_NANOS = 50_000;
+    private final static int MAX_COMBINED_REQUESTS = 64;
     private volatile int size;
     private Node<T> head;
     private Node<T> tail;
-    private final Object lock = new Object();
+    private final LockingStrategy lock;
+    // set for the uninstrumented MONITOR mode, whose hot paths synchronize on it without a lambda
+    private final Object monitor;
+    private final boolean flatCombining;
+    private final AtomicBoolean combinerActive = new AtomicBoolean();
+    private final Queue<CombiningRequest<T>> pendingRequests = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<CombiningRequest<T>> combiningSlot = ThreadLocal.withInitial(CombiningRequest::new);
+
+    public BlockingCustomList() {
+        this(LockingMode.MONITOR, false);
+    }
+
+    public BlockingCustomList(boolean flatCombining) {
+        this(LockingMode.MONITOR, flatCombining);
+    }
+
+    public BlockingCustomList(LockingMode lockingMode) {
+        this(lockingMode, false);
+    }
+
+    public BlockingCustomList(LockingMode lockingMode, boolean flatCombining) {
+        this(lockingMode, flatCombining, null);
+    }
+
+    public BlockingCustomList(LockingMode lockingMode, boolean flatCombining, LockStatistics statistics) {
+        LockingStrategy strategy = lockingMode.createStrategy();
+        this.lock = statistics == null ? strategy : new InstrumentedLockingStrategy(strategy, statistics);
+        this.monitor = lock.monitor();
+        this.flatCombining = flatCombining;
+    }
 
     private static class Node<T> {
         T data;
@@ -24,6 +59,19 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
         }
     }
 
+    private enum CombiningOperation {
+        ADD, REMOVE
+    }
+
+    private static class CombiningRequest<T> {
+        CombiningOperation operation;
+        T data;
+        Thread owner;
+        boolean result;
+        Throwable failure;
+        volatile boolean done;
+    }
+
     private boolean checkIfObjectIsNull(T obj) {
         return obj == null;
     }
@@ -37,43 +85,61 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
         if (checkIfObjectIsNull(obj)) {
             return false;
         }
-        synchronized (lock) {
-            Node<T> newNode = new Node<>(obj, tail, null);
-            if (tail == null) {
-                modifyHead(newNode);
-            } else {
-                tail.next = newNode;
-                newNode.prev = tail;
+        if (flatCombining) {
+            return combine(CombiningOperation.ADD, obj);
+        }
+        if (monitor != null) {
+            synchronized (monitor) {
+                appendNode(obj);
             }
-            modifyTail(newNode);
-            this.size += 1;
+        } else {
+            lock.run(LockOperation.ADD, () -> appendNode(obj));
         }
         return true;
     }
 
+    private void appendNode(T obj) {
+        Node<T> newNode = new Node<>(obj, tail, null);
+        if (tail == null) {
+            modifyHead(newNode);
+        } else {
+            tail.next = newNode;
+            newNode.prev = tail;
+        }
+        modifyTail(newNode);
+        this.size += 1;
+    }
+
     @Override
     public T remove(int index) {
         if (checkIfIndexIsIncorrect(index)) {
             throw new IllegalArgumentException("Wrong index");
         }
-        synchronized (lock) {
-            Node<T> removed = getNodeByIndex(index);
-            if (this.size == 1) {
-                modifyHead(null);
-                modifyTail(null);
-            } else if (removed.prev == null) {
-                removed.next.prev = null;
-                modifyHead(head.next);
-            } else if (removed.next == null) {
-                removed.prev.next = null;
-                modifyTail(tail.prev);
-            } else {
-                removed.next.prev = removed.prev;
-                removed.prev.next = removed.next;
+        if (monitor != null) {
+            synchronized (monitor) {
+                return removeAt(index);
             }
-            this.size -= 1;
-            return removed.data;
         }
+        return lock.execute(LockOperation.REMOVE, () -> removeAt(index));
+    }
+
+    private T removeAt(int index) {
+        Node<T> removed = getNodeByIndex(index);
+        if (this.size == 1) {
+            modifyHead(null);
+            modifyTail(null);
+        } else if (removed.prev == null) {
+            removed.next.prev = null;
+            modifyHead(head.next);
+        } else if (removed.next == null) {
+            removed.prev.next = null;
+            modifyTail(tail.prev);
+        } else {
+            removed.next.prev = removed.prev;
+            removed.prev.next = removed.next;
+        }
+        this.size -= 1;
+        return removed.data;
     }
 
     @Override
@@ -81,10 +147,82 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
         if (checkIfObjectIsNull(obj)) {
             return false;
         }
-        synchronized (lock) {
-            int indexRemoved = indexOf(obj);
-            remove(indexRemoved);
+        if (flatCombining) {
+            return combine(CombiningOperation.REMOVE, obj);
+        }
+        if (monitor != null) {
+            synchronized (monitor) {
+                return apply(CombiningOperation.REMOVE, obj);
+            }
+        }
+        return lock.execute(LockOperation.REMOVE, () -> apply(CombiningOperation.REMOVE, obj));
+    }
+
+    private boolean combine(CombiningOperation operation, T obj) {
+        if (lock.isHeldByCurrentThread()) {
+            return apply(operation, obj);
+        }
+        CombiningRequest<T> request = combiningSlot.get();
+        request.operation = operation;
+        request.data = obj;
+        request.owner = Thread.currentThread();
+        request.failure = null;
+        request.done = false;
+        pendingRequests.add(request);
+        int spins = 0;
+        while (!request.done) {
+            if (combinerActive.compareAndSet(false, true)) {
+                try {
+                    lock.run(LockOperation.COMBINE, this::applyPendingRequests);
+                } finally {
+                    combinerActive.set(false);
+                }
+            } else if (spins < MAX_SPINS) {
+                spins++;
+                Thread.onSpinWait();
+            } else {
+                // timed park, since the combiner may finish before seeing this request
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+        }
+        Throwable failure = request.failure;
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
         }
+        if (failure != null) {
+            throw (Error) failure;
+        }
+        return request.result;
+    }
+
+    // a bounded pass, so one thread does not end up serving every other thread indefinitely
+    private void applyPendingRequests() {
+        CombiningRequest<T> pending;
+        for (int i = 0; i < MAX_COMBINED_REQUESTS && (pending = pendingRequests.poll()) != null; i++) {
+            Thread owner = pending.owner;
+            try {
+                pending.result = apply(pending.operation, pending.data);
+            } catch (Throwable e) {
+                pending.failure = e;
+            } finally {
+                pending.data = null;
+                pending.owner = null;
+                pending.done = true;
+                LockSupport.unpark(owner);
+            }
+        }
+    }
+
+    private boolean apply(CombiningOperation operation, T obj) {
+        if (operation == CombiningOperation.ADD) {
+            appendNode(obj);
+            return true;
+        }
+        int indexRemoved = indexOfUnlocked(obj);
+        if (indexRemoved < 0) {
+            return false;
+        }
+        removeAt(indexRemoved);
         return true;
     }
 
@@ -93,38 +231,48 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
         if (checkIfObjectIsNull(obj) || checkIfIndexIsIncorrect(index)) {
             return false;
         }
-        synchronized (lock) {
-            if (index == 0) {
-                Node<T> oldHead = head;
-                modifyHead(new Node<>(obj, null, oldHead));
-                head.next = oldHead;
-                oldHead.prev = head;
-            } else if (index == this.size - 1) {
-                Node<T> oldTail = tail;
-                modifyTail(new Node<>(obj, oldTail, null));
-                oldTail.next = tail;
-                tail.prev = oldTail;
-            } else {
-                Node<T> nodeOnIndex = getNodeByIndex(index);
-                Node<T> prevNode = nodeOnIndex.prev;
-                Node<T> newNode = new Node<>(obj, prevNode, nodeOnIndex);
-                prevNode.next = newNode;
-                nodeOnIndex.prev = newNode;
+        if (monitor != null) {
+            synchronized (monitor) {
+                insertAt(index, obj);
             }
-            this.size += 1;
+        } else {
+            lock.run(LockOperation.ADD, () -> insertAt(index, obj));
         }
         return true;
     }
 
+    private void insertAt(int index, T obj) {
+        if (index == 0) {
+            Node<T> oldHead = head;
+            modifyHead(new Node<>(obj, null, oldHead));
+            head.next = oldHead;
+            oldHead.prev = head;
+        } else if (index == this.size - 1) {
+            Node<T> oldTail = tail;
+            modifyTail(new Node<>(obj, oldTail, null));
+            oldTail.next = tail;
+            tail.prev = oldTail;
+        } else {
+            Node<T> nodeOnIndex = getNodeByIndex(index);
+            Node<T> prevNode = nodeOnIndex.prev;
+            Node<T> newNode = new Node<>(obj, prevNode, nodeOnIndex);
+            prevNode.next = newNode;
+            nodeOnIndex.prev = newNode;
+        }
+        this.size += 1;
+    }
+
     @Override
     public T get(int index) {
         if (checkIfIndexIsIncorrect(index)) {
             throw new IllegalArgumentException("Wrong index");
         }
-        synchronized (lock) {
-            Node<T> node = getNodeByIndex(index);
-            return node.data;
+        if (monitor != null) {
+            synchronized (monitor) {
+                return getNodeByIndex(index).data;
+            }
         }
+        return lock.execute(LockOperation.GET, () -> getNodeByIndex(index).data);
     }
 
     @Override
@@ -134,22 +282,29 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
 
     @Override
     public int indexOf(T obj) {
-        synchronized (lock) {
-            int index = 0;
-            if (checkIfObjectIsNull(obj)) {
-                for (Node<T> cur = head; cur != null; cur = cur.next) {
-                    if (cur.data == null) {
-                        return index;
-                    }
-                    index += 1;
+        if (monitor != null) {
+            synchronized (monitor) {
+                return indexOfUnlocked(obj);
+            }
+        }
+        return lock.executeInt(LockOperation.INDEX_OF, () -> indexOfUnlocked(obj));
+    }
+
+    private int indexOfUnlocked(T obj) {
+        int index = 0;
+        if (checkIfObjectIsNull(obj)) {
+            for (Node<T> cur = head; cur != null; cur = cur.next) {
+                if (cur.data == null) {
+                    return index;
                 }
-            } else {
-                for (Node<T> cur = head; cur != null; cur = cur.next) {
-                    if (cur.data.equals(obj)) {
-                        return index;
-                    }
-                    index += 1;
+                index += 1;
+            }
+        } else {
+            for (Node<T> cur = head; cur != null; cur = cur.next) {
+                if (cur.data.equals(obj)) {
+                    return index;
                 }
+                index += 1;
             }
         }
         return -1;
@@ -157,22 +312,29 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
 
     @Override
     public int lastIndexOf(T obj) {
-        synchronized (lock) {
-            int index = this.size - 1;
-            if (checkIfObjectIsNull(obj)) {
-                for (Node<T> cur = tail; cur != null; cur = cur.prev) {
-                    if (cur.data == null) {
-                        return index;
-                    }
-                    index -= 1;
+        if (monitor != null) {
+            synchronized (monitor) {
+                return lastIndexOfUnlocked(obj);
+            }
+        }
+        return lock.executeInt(LockOperation.INDEX_OF, () -> lastIndexOfUnlocked(obj));
+    }
+
+    private int lastIndexOfUnlocked(T obj) {
+        int index = this.size - 1;
+        if (checkIfObjectIsNull(obj)) {
+            for (Node<T> cur = tail; cur != null; cur = cur.prev) {
+                if (cur.data == null) {
+                    return index;
                 }
-            } else {
-                for (Node<T> cur = tail; cur != null; cur = cur.prev) {
-                    if (cur.data.equals(obj)) {
-                        return index;
-                    }
-                    index -= 1;
+                index -= 1;
+            }
+        } else {
+            for (Node<T> cur = tail; cur != null; cur = cur.prev) {
+                if (cur.data.equals(obj)) {
+                    return index;
                 }
+                index -= 1;
             }
         }
         return -1;
@@ -185,16 +347,16 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
 
     @Override
     public Object[] toArray() {
-        Object[] arr = new Object[this.size];
-        synchronized (lock) {
+        return lock.execute(LockOperation.OTHER, () -> {
+            Object[] arr = new Object[this.size];
             Iterator<T> it = this.iterator();
             int index = 0;
             while (it.hasNext()) {
                 arr[index] = it.next();
                 index++;
             }
-        }
-        return arr;
+            return arr;
+        });
     }
 
     @Override
@@ -202,9 +364,12 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
         if (checkIfObjectIsNull(obj) || checkIfIndexIsIncorrect(index)) {
             return false;
         }
-        synchronized (lock) {
-            Node<T> nodeToBeModified = getNodeByIndex(index);
-            nodeToBeModified.data = obj;
+        if (monitor != null) {
+            synchronized (monitor) {
+                getNodeByIndex(index).data = obj;
+            }
+        } else {
+            lock.run(LockOperation.OTHER, () -> getNodeByIndex(index).data = obj);
         }
         return true;
     }
@@ -214,10 +379,8 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
         if(other == null) {
             return false;
         }
-        synchronized (lock) {
-            other.forEach(this::add);
-            return true;
-        }
+        lock.run(LockOperation.ADD, () -> other.forEach(this::add));
+        return true;
     }
 
     @Override
@@ -225,7 +388,7 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
         if (checkIfObjectIsNull(obj)) {
             return false;
         }
-        synchronized (lock) {
+        return lock.execute(LockOperation.REMOVE, () -> {
             int temp = this.size;
             for (Node<T> cur = tail; cur != null; cur = cur.prev) {
                 if (cur.data.equals(obj)) {
@@ -233,24 +396,24 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
                 }
             }
             return temp != this.size;
-        }
+        });
     }
 
     @SuppressWarnings("unchecked")
     @Override
-    public synchronized void addAll(ICollection<T> other, int index) {
-        synchronized (lock) {
+    public void addAll(ICollection<T> other, int index) {
+        lock.run(LockOperation.ADD, () -> {
             final int[] indexCopy = {index};
             Arrays.stream(other.toArray()).map(o -> (T) o).forEach(t -> {
                 this.add(indexCopy[0], t);
                 ++indexCopy[0];
             });
-        }
+        });
     }
 
     @Override
     public void sort(Comparator<T> comp) {
-        synchronized (lock) {
+        lock.run(LockOperation.SORT, () -> {
             boolean swapped;
             int index = this.size - 1;
             do {
@@ -263,12 +426,12 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
                 }
                 --index;
             } while (!swapped);
-        }
+        });
     }
 
     @Override
     public boolean removeIf(Predicate<T> predicate) {
-        synchronized (lock) {
+        return lock.execute(LockOperation.REMOVE, () -> {
             int temp = this.size;
             for (Node<T> cur = head; cur != null; cur = cur.next) {
                 if (predicate.test(cur.data)) {
@@ -276,31 +439,31 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
                 }
             }
             return temp != this.size;
-        }
+        });
     }
 
     @Override
     public int indexOf(Predicate<T> predicate) {
-        synchronized (lock) {
+        return lock.executeInt(LockOperation.INDEX_OF, () -> {
             for (Node<T> cur = head; cur != null; cur = cur.next) {
                 if (predicate.test(cur.data)) {
-                    return indexOf(cur.data);
+                    return indexOfUnlocked(cur.data);
                 }
             }
-        }
-        return -1;
+            return -1;
+        });
     }
 
     @Override
     public int lastIndexOf(Predicate<T> predicate) {
-        synchronized (lock) {
+        return lock.executeInt(LockOperation.INDEX_OF, () -> {
             for (Node<T> cur = tail; cur != null; cur = cur.prev) {
                 if (predicate.test(cur.data)) {
-                    return lastIndexOf(cur.data);
+                    return lastIndexOfUnlocked(cur.data);
                 }
             }
-        }
-        return -1;
+            return -1;
+        });
     }
 
     @Override
@@ -310,11 +473,11 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
 
     @Override
     public void clear() {
-        synchronized (lock) {
+        lock.run(LockOperation.REMOVE, () -> {
             for (Node<T> cur = head; cur != null; cur = cur.next) {
                 removeNode(cur);
             }
-        }
+        });
     }
 
     //TODO - to be implemented
@@ -346,15 +509,15 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
         return Collections.synchronizedList(list).iterator();
     }
 
-    private synchronized void modifyHead(Node<T> newHead) {
+    private void modifyHead(Node<T> newHead) {
         this.head = newHead;
     }
 
-    private synchronized void modifyTail(Node<T> newTail) {
+    private void modifyTail(Node<T> newTail) {
         this.tail = newTail;
     }
 
-    private synchronized Node<T> getNodeByIndex(int index) {
+    private Node<T> getNodeByIndex(int index) {
         if (checkIfIndexIsIncorrect(index)) {
             throw new IllegalArgumentException("Wrong index");
         }
@@ -373,7 +536,7 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
         return current;
     }
 
-    private synchronized void removeNode(Node<T> node) {
+    private void removeNode(Node<T> node) {
         if (node.prev == null) {
             modifyHead(node.next);
             node.next.prev = head;
@@ -387,7 +550,7 @@ public class BlockingCustomList<T> implements ICollectionIndexed<T> {
         this.size -= 1;
     }
 
-    private synchronized void swap(int index1, int index2) {
+    private void swap(int index1, int index2) {
         Node<T> nodeOnIndex1 = getNodeByIndex(index1);
         Node<T> nodeOnIndex2 = getNodeByIndex(index2);
         T tempObj = nodeOnIndex1.data;
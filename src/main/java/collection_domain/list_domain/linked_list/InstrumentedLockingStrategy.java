@@ -0,0 +1,59 @@
+package collection_domain.list_domain.linked_list;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+class InstrumentedLockingStrategy implements LockingStrategy {
+    private final LockingStrategy delegate;
+    private final LockStatistics statistics;
+
+    InstrumentedLockingStrategy(LockingStrategy delegate, LockStatistics statistics) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public <R> R execute(LockOperation operation, Supplier<R> action) {
+        if (delegate.isHeldByCurrentThread()) {
+            return action.get();
+        }
+        long requested = statistics.recordRequest(operation);
+        return delegate.execute(operation, () -> {
+            long acquired = statistics.recordAcquisition(operation, requested);
+            try {
+                return action.get();
+            } finally {
+                statistics.recordRelease(operation, acquired);
+            }
+        });
+    }
+
+    @Override
+    public void run(LockOperation operation, Runnable action) {
+        execute(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public int executeInt(LockOperation operation, IntSupplier action) {
+        if (delegate.isHeldByCurrentThread()) {
+            return action.getAsInt();
+        }
+        long requested = statistics.recordRequest(operation);
+        return delegate.executeInt(operation, () -> {
+            long acquired = statistics.recordAcquisition(operation, requested);
+            try {
+                return action.getAsInt();
+            } finally {
+                statistics.recordRelease(operation, acquired);
+            }
+        });
+    }
+
+    @Override
+    public boolean isHeldByCurrentThread() {
+        return delegate.isHeldByCurrentThread();
+    }
+}
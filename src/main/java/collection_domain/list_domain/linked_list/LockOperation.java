@@ -0,0 +1,5 @@
+package collection_domain.list_domain.linked_list;
+
+public enum LockOperation {
+    ADD, REMOVE, GET, INDEX_OF, SORT, COMBINE, OTHER
+}
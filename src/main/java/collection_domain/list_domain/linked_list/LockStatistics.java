@@ -0,0 +1,145 @@
+package collection_domain.list_domain.linked_list;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class LockStatistics implements LockStatisticsMXBean {
+    private final Map<LockOperation, OperationCounters> counters = new EnumMap<>(LockOperation.class);
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private ObjectName objectName;
+
+    private static class OperationCounters {
+        final LongAdder acquisitions = new LongAdder();
+        final LatencyHistogram wait = new LatencyHistogram();
+        final LatencyHistogram hold = new LatencyHistogram();
+        final AtomicInteger maxQueueDepth = new AtomicInteger();
+    }
+
+    public LockStatistics() {
+        for (LockOperation operation : LockOperation.values()) {
+            counters.put(operation, new OperationCounters());
+        }
+    }
+
+    long recordRequest(LockOperation operation) {
+        int depth = queueDepth.incrementAndGet();
+        counters.get(operation).maxQueueDepth.accumulateAndGet(depth, Math::max);
+        return System.nanoTime();
+    }
+
+    long recordAcquisition(LockOperation operation, long requested) {
+        long acquired = System.nanoTime();
+        queueDepth.decrementAndGet();
+        OperationCounters operationCounters = counters.get(operation);
+        operationCounters.acquisitions.increment();
+        operationCounters.wait.record(acquired - requested);
+        return acquired;
+    }
+
+    void recordRelease(LockOperation operation, long acquired) {
+        counters.get(operation).hold.record(System.nanoTime() - acquired);
+    }
+
+    public Map<LockOperation, OperationStatistics> snapshot() {
+        Map<LockOperation, OperationStatistics> res = new EnumMap<>(LockOperation.class);
+        counters.forEach((operation, c) -> res.put(operation, new OperationStatistics(operation,
+                c.acquisitions.sum(), c.wait, c.hold, c.maxQueueDepth.get())));
+        return res;
+    }
+
+    public OperationStatistics snapshot(LockOperation operation) {
+        OperationCounters c = counters.get(operation);
+        return new OperationStatistics(operation, c.acquisitions.sum(), c.wait, c.hold, c.maxQueueDepth.get());
+    }
+
+    public synchronized void register(String name) {
+        if (objectName != null) {
+            throw new IllegalStateException("Statistics are already registered as " + objectName);
+        }
+        try {
+            ObjectName newName = new ObjectName("collection_domain:type=BlockingCustomList,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+            objectName = newName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register lock statistics MBean", e);
+        }
+    }
+
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.unregisterMBean(objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to unregister lock statistics MBean", e);
+        } finally {
+            objectName = null;
+        }
+    }
+
+    private <V> Map<String, V> collect(Function<OperationCounters, V> extractor) {
+        Map<String, V> res = new LinkedHashMap<>();
+        counters.forEach((operation, c) -> res.put(operation.name(), extractor.apply(c)));
+        return res;
+    }
+
+    @Override
+    public Map<String, Long> getAcquisitionCounts() {
+        return collect(c -> c.acquisitions.sum());
+    }
+
+    @Override
+    public Map<String, Long> getTotalWaitNanos() {
+        return collect(c -> c.wait.getTotalNanos());
+    }
+
+    @Override
+    public Map<String, Long> getMaxWaitNanos() {
+        return collect(c -> c.wait.getMaxNanos());
+    }
+
+    @Override
+    public Map<String, Long> getTotalHoldNanos() {
+        return collect(c -> c.hold.getTotalNanos());
+    }
+
+    @Override
+    public Map<String, Long> getMaxHoldNanos() {
+        return collect(c -> c.hold.getMaxNanos());
+    }
+
+    @Override
+    public Map<String, Integer> getMaxQueueDepths() {
+        return collect(c -> c.maxQueueDepth.get());
+    }
+
+    @Override
+    public Map<String, long[]> getWaitHistograms() {
+        return collect(c -> c.wait.getBuckets());
+    }
+
+    @Override
+    public Map<String, long[]> getHoldHistograms() {
+        return collect(c -> c.hold.getBuckets());
+    }
+
+    @Override
+    public void reset() {
+        counters.values().forEach(c -> {
+            c.acquisitions.reset();
+            c.wait.reset();
+            c.hold.reset();
+            c.maxQueueDepth.set(0);
+        });
+    }
+}
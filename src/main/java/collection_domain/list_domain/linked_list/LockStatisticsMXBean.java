@@ -0,0 +1,23 @@
+package collection_domain.list_domain.linked_list;
+
+import java.util.Map;
+
+public interface LockStatisticsMXBean {
+    Map<String, Long> getAcquisitionCounts();
+
+    Map<String, Long> getTotalWaitNanos();
+
+    Map<String, Long> getMaxWaitNanos();
+
+    Map<String, Long> getTotalHoldNanos();
+
+    Map<String, Long> getMaxHoldNanos();
+
+    Map<String, Integer> getMaxQueueDepths();
+
+    Map<String, long[]> getWaitHistograms();
+
+    Map<String, long[]> getHoldHistograms();
+
+    void reset();
+}
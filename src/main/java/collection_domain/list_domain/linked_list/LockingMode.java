@@ -0,0 +1,18 @@
+package collection_domain.list_domain.linked_list;
+
+public enum LockingMode {
+    MONITOR {
+        @Override
+        LockingStrategy createStrategy() {
+            return new MonitorLockingStrategy();
+        }
+    },
+    REENTRANT {
+        @Override
+        LockingStrategy createStrategy() {
+            return new ReentrantLockingStrategy();
+        }
+    };
+
+    abstract LockingStrategy createStrategy();
+}
@@ -0,0 +1,19 @@
+package collection_domain.list_domain.linked_list;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+interface LockingStrategy {
+    <R> R execute(LockOperation operation, Supplier<R> action);
+
+    void run(LockOperation operation, Runnable action);
+
+    int executeInt(LockOperation operation, IntSupplier action);
+
+    // plain monitor the caller may synchronize on directly, or null when locking needs the strategy
+    default Object monitor() {
+        return null;
+    }
+
+    boolean isHeldByCurrentThread();
+}
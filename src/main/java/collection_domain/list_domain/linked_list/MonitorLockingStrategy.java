@@ -0,0 +1,39 @@
+package collection_domain.list_domain.linked_list;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+class MonitorLockingStrategy implements LockingStrategy {
+    private final Object lock = new Object();
+
+    @Override
+    public <R> R execute(LockOperation operation, Supplier<R> action) {
+        synchronized (lock) {
+            return action.get();
+        }
+    }
+
+    @Override
+    public void run(LockOperation operation, Runnable action) {
+        synchronized (lock) {
+            action.run();
+        }
+    }
+
+    @Override
+    public int executeInt(LockOperation operation, IntSupplier action) {
+        synchronized (lock) {
+            return action.getAsInt();
+        }
+    }
+
+    @Override
+    public Object monitor() {
+        return lock;
+    }
+
+    @Override
+    public boolean isHeldByCurrentThread() {
+        return Thread.holdsLock(lock);
+    }
+}
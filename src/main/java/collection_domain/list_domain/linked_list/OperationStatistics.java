@@ -0,0 +1,70 @@
+package collection_domain.list_domain.linked_list;
+
+public class OperationStatistics {
+    private final LockOperation operation;
+    private final long acquisitions;
+    private final long[] waitHistogram;
+    private final long[] holdHistogram;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long totalHoldNanos;
+    private final long maxHoldNanos;
+    private final int maxQueueDepth;
+
+    OperationStatistics(LockOperation operation, long acquisitions, LatencyHistogram wait, LatencyHistogram hold,
+                        int maxQueueDepth) {
+        this.operation = operation;
+        this.acquisitions = acquisitions;
+        this.waitHistogram = wait.getBuckets();
+        this.holdHistogram = hold.getBuckets();
+        this.totalWaitNanos = wait.getTotalNanos();
+        this.maxWaitNanos = wait.getMaxNanos();
+        this.totalHoldNanos = hold.getTotalNanos();
+        this.maxHoldNanos = hold.getMaxNanos();
+        this.maxQueueDepth = maxQueueDepth;
+    }
+
+    public LockOperation getOperation() {
+        return operation;
+    }
+
+    public long getAcquisitions() {
+        return acquisitions;
+    }
+
+    // Bucket i counts the durations in [2^(i-1), 2^i) nanoseconds, bucket 0 counts zero durations
+    public long[] getWaitHistogram() {
+        return waitHistogram.clone();
+    }
+
+    public long[] getHoldHistogram() {
+        return holdHistogram.clone();
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    public long getTotalHoldNanos() {
+        return totalHoldNanos;
+    }
+
+    public long getMaxHoldNanos() {
+        return maxHoldNanos;
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    @Override
+    public String toString() {
+        return operation + "{acquisitions=" + acquisitions + ", totalWaitNanos=" + totalWaitNanos
+                + ", maxWaitNanos=" + maxWaitNanos + ", totalHoldNanos=" + totalHoldNanos
+                + ", maxHoldNanos=" + maxHoldNanos + ", maxQueueDepth=" + maxQueueDepth + "}";
+    }
+}
@@ -0,0 +1,44 @@
+package collection_domain.list_domain.linked_list;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+class ReentrantLockingStrategy implements LockingStrategy {
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Override
+    public <R> R execute(LockOperation operation, Supplier<R> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void run(LockOperation operation, Runnable action) {
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int executeInt(LockOperation operation, IntSupplier action) {
+        lock.lock();
+        try {
+            return action.getAsInt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isHeldByCurrentThread() {
+        return lock.isHeldByCurrentThread();
+    }
+}
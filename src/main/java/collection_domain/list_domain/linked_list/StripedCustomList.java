@@ -0,0 +1,201 @@
+package collection_domain.list_domain.linked_list;
+
+import collection_domain.ICollection;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+public class StripedCustomList<T> implements ICollection<T> {
+    private final static int DEFAULT_STRIPES = 16;
+    private final NonBlockingCustomList<T>[] stripes;
+    private final LongAdder size = new LongAdder();
+
+    public StripedCustomList(int stripesCount) {
+        if (stripesCount <= 0) {
+            throw new IllegalArgumentException("Wrong number of stripes");
+        }
+        stripes = newStripes(stripesCount);
+        for (int i = 0; i < stripesCount; i++) {
+            stripes[i] = new NonBlockingCustomList<>();
+        }
+    }
+
+    public StripedCustomList() {
+        this(DEFAULT_STRIPES);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> NonBlockingCustomList<T>[] newStripes(int count) {
+        return (NonBlockingCustomList<T>[]) new NonBlockingCustomList[count];
+    }
+
+    private NonBlockingCustomList<T> getStripe(Object obj) {
+        int hash = obj.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+
+    @Override
+    public boolean add(T obj) {
+        if (obj == null) {
+            return false;
+        }
+        NonBlockingCustomList<T> stripe = getStripe(obj);
+        synchronized (stripe) {
+            stripe.add(obj);
+        }
+        size.increment();
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size.intValue();
+    }
+
+    @Override
+    public boolean remove(T obj) {
+        if (obj == null) {
+            return false;
+        }
+        NonBlockingCustomList<T> stripe = getStripe(obj);
+        synchronized (stripe) {
+            int index = stripe.indexOf(obj);
+            if (index < 0) {
+                return false;
+            }
+            stripe.remove(index);
+        }
+        size.decrement();
+        return true;
+    }
+
+    @Override
+    public boolean contains(T obj) {
+        if (obj == null) {
+            return false;
+        }
+        NonBlockingCustomList<T> stripe = getStripe(obj);
+        synchronized (stripe) {
+            return stripe.indexOf(obj) >= 0;
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[][] parts = new Object[stripes.length][];
+        IntStream.range(0, stripes.length).parallel().forEach(i -> {
+            synchronized (stripes[i]) {
+                parts[i] = stripes[i].toArray();
+            }
+        });
+        int total = Arrays.stream(parts).mapToInt(part -> part.length).sum();
+        Object[] res = new Object[total];
+        int index = 0;
+        for (Object[] part : parts) {
+            System.arraycopy(part, 0, res, index, part.length);
+            index += part.length;
+        }
+        return res;
+    }
+
+    @Override
+    public boolean addAll(Collection<T> other) {
+        if (other == null) {
+            return false;
+        }
+        other.forEach(this::add);
+        return true;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<T> predicate) {
+        if (predicate == null) {
+            return false;
+        }
+        int removed = IntStream.range(0, stripes.length).parallel().map(i -> removeFromStripe(stripes[i], predicate)).sum();
+        return removed > 0;
+    }
+
+    // the predicate sees the intact stripe, so a throwing predicate leaves it and the size unchanged
+    @SuppressWarnings("unchecked")
+    private int removeFromStripe(NonBlockingCustomList<T> stripe, Predicate<T> predicate) {
+        int removed = 0;
+        synchronized (stripe) {
+            Object[] elements = stripe.toArray();
+            boolean[] matches = new boolean[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                if (predicate.test((T) elements[i])) {
+                    matches[i] = true;
+                    removed++;
+                }
+            }
+            if (removed == 0) {
+                return 0;
+            }
+            clearStripe(stripe);
+            for (int i = 0; i < elements.length; i++) {
+                if (!matches[i]) {
+                    stripe.add((T) elements[i]);
+                }
+            }
+            size.add(-removed);
+        }
+        return removed;
+    }
+
+    private void clearStripe(NonBlockingCustomList<T> stripe) {
+        while (!stripe.isEmpty()) {
+            stripe.remove(stripe.size() - 1);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size.sum() == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (NonBlockingCustomList<T> stripe : stripes) {
+            synchronized (stripe) {
+                size.add(-stripe.size());
+                clearStripe(stripe);
+            }
+        }
+    }
+
+    @Override
+    public boolean containsAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        return c.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        return removeIf(elem -> !c.contains(elem));
+    }
+
+    @Override
+    public boolean removeAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        return removeIf(c::contains);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Iterator<T> iterator() {
+        return Arrays.stream(toArray()).map(o -> (T) o).iterator();
+    }
+}
@@ -0,0 +1,550 @@
+package collection_domain.list_domain.linked_list;
+
+import collection_domain.ICollection;
+import collection_domain.list_domain.ICollectionIndexed;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+public class VersionedBlockingCustomList<T> implements ICollectionIndexed<T> {
+    private static final long NOT_DELETED = Long.MAX_VALUE;
+    private volatile int size;
+    private volatile long epoch;
+    private volatile Node<T> head;
+    private Node<T> tail;
+    private final LockingStrategy lock;
+    private final TreeMap<Long, Integer> activeSnapshots = new TreeMap<>();
+
+    public VersionedBlockingCustomList() {
+        this(LockingMode.MONITOR);
+    }
+
+    public VersionedBlockingCustomList(LockingMode lockingMode) {
+        this.lock = lockingMode.createStrategy();
+    }
+
+    private static class Version<T> {
+        final T data;
+        final long epoch;
+        volatile Version<T> older;
+
+        Version(T data, long epoch, Version<T> older) {
+            this.data = data;
+            this.epoch = epoch;
+            this.older = older;
+        }
+    }
+
+    private static class Node<T> {
+        final long createdEpoch;
+        volatile long deletedEpoch = NOT_DELETED;
+        volatile Version<T> version;
+        volatile Node<T> next;
+        Node<T> prev;
+
+        Node(T data, long epoch) {
+            this.createdEpoch = epoch;
+            this.version = new Version<>(data, epoch, null);
+        }
+
+        boolean isLive() {
+            return deletedEpoch == NOT_DELETED;
+        }
+
+        boolean isVisibleAt(long epoch) {
+            return createdEpoch <= epoch && deletedEpoch > epoch;
+        }
+
+        T dataAt(long epoch) {
+            Version<T> v = version;
+            while (v != null && v.epoch > epoch) {
+                v = v.older;
+            }
+            return v == null ? null : v.data;
+        }
+    }
+
+    public class Snapshot implements Iterable<T>, AutoCloseable {
+        private final long snapshotEpoch;
+        private final int snapshotSize;
+        private boolean closed;
+
+        private Snapshot(long snapshotEpoch, int snapshotSize) {
+            this.snapshotEpoch = snapshotEpoch;
+            this.snapshotSize = snapshotSize;
+        }
+
+        public long getEpoch() {
+            return snapshotEpoch;
+        }
+
+        public int size() {
+            return snapshotSize;
+        }
+
+        public boolean isEmpty() {
+            return snapshotSize == 0;
+        }
+
+        public T get(int index) {
+            if (index < 0 || index >= snapshotSize) {
+                throw new IllegalArgumentException("Wrong index");
+            }
+            Iterator<T> it = iterator();
+            for (int i = 0; i < index; i++) {
+                it.next();
+            }
+            return it.next();
+        }
+
+        public boolean contains(T obj) {
+            if (obj == null) {
+                return false;
+            }
+            for (T elem : this) {
+                if (elem.equals(obj)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public Object[] toArray() {
+            Object[] arr = new Object[snapshotSize];
+            int index = 0;
+            for (T elem : this) {
+                arr[index++] = elem;
+            }
+            return arr;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            checkIfClosed();
+            return new Iterator<>() {
+                Node<T> current = nextVisible(head);
+
+                @Override
+                public boolean hasNext() {
+                    return current != null;
+                }
+
+                @Override
+                public T next() {
+                    if (current == null) {
+                        throw new NoSuchElementException();
+                    }
+                    T res = current.dataAt(snapshotEpoch);
+                    current = nextVisible(current.next);
+                    return res;
+                }
+            };
+        }
+
+        private Node<T> nextVisible(Node<T> node) {
+            while (node != null && !node.isVisibleAt(snapshotEpoch)) {
+                node = node.next;
+            }
+            return node;
+        }
+
+        private void checkIfClosed() {
+            if (closed) {
+                throw new IllegalStateException("Snapshot is closed");
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.run(LockOperation.OTHER, () -> {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                long oldest = activeSnapshots.firstKey();
+                activeSnapshots.computeIfPresent(snapshotEpoch, (e, count) -> count == 1 ? null : count - 1);
+                if (snapshotEpoch == oldest) {
+                    reclaim();
+                }
+            });
+        }
+    }
+
+    public Snapshot snapshot() {
+        return lock.execute(LockOperation.OTHER, () -> {
+            activeSnapshots.merge(epoch, 1, Integer::sum);
+            return new Snapshot(epoch, size);
+        });
+    }
+
+    public int getActiveSnapshotsCount() {
+        return lock.execute(LockOperation.OTHER, () -> activeSnapshots.values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    private long oldestActiveEpoch() {
+        return activeSnapshots.isEmpty() ? NOT_DELETED : activeSnapshots.firstKey();
+    }
+
+    private long nextEpoch() {
+        long next = epoch + 1;
+        epoch = next;
+        return next;
+    }
+
+    private void reclaim() {
+        long oldest = oldestActiveEpoch();
+        Node<T> cur = head;
+        while (cur != null) {
+            Node<T> next = cur.next;
+            if (!cur.isLive() && cur.deletedEpoch <= oldest) {
+                unlink(cur);
+            } else {
+                pruneVersions(cur, oldest);
+            }
+            cur = next;
+        }
+    }
+
+    private void pruneVersions(Node<T> node, long oldest) {
+        Version<T> v = node.version;
+        while (v != null && v.epoch > oldest) {
+            v = v.older;
+        }
+        if (v != null) {
+            v.older = null;
+        }
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+    }
+
+    private void retire(Node<T> node, long deletedEpoch) {
+        node.deletedEpoch = deletedEpoch;
+        if (activeSnapshots.isEmpty()) {
+            unlink(node);
+        }
+        this.size -= 1;
+    }
+
+    private void replaceData(Node<T> node, T obj, long writeEpoch) {
+        node.version = new Version<>(obj, writeEpoch, node.version);
+        pruneVersions(node, oldestActiveEpoch());
+    }
+
+    private boolean checkIfObjectIsNull(T obj) {
+        return obj == null;
+    }
+
+    private boolean checkIfIndexIsIncorrect(int index) {
+        return index < 0 || index >= this.size;
+    }
+
+    private Node<T> nextLive(Node<T> node) {
+        while (node != null && !node.isLive()) {
+            node = node.next;
+        }
+        return node;
+    }
+
+    private Node<T> prevLive(Node<T> node) {
+        while (node != null && !node.isLive()) {
+            node = node.prev;
+        }
+        return node;
+    }
+
+    private Node<T> getNodeByIndex(int index) {
+        if (checkIfIndexIsIncorrect(index)) {
+            throw new IllegalArgumentException("Wrong index");
+        }
+        Node<T> current;
+        if (index <= this.size / 2) {
+            current = nextLive(head);
+            for (int i = 0; i < index; i++) {
+                current = nextLive(current.next);
+            }
+        } else {
+            current = prevLive(tail);
+            for (int i = this.size - 1; i > index; i--) {
+                current = prevLive(current.prev);
+            }
+        }
+        return current;
+    }
+
+    private void linkAfter(Node<T> prevNode, Node<T> newNode) {
+        Node<T> nextNode = prevNode == null ? head : prevNode.next;
+        newNode.prev = prevNode;
+        newNode.next = nextNode;
+        if (nextNode == null) {
+            tail = newNode;
+        } else {
+            nextNode.prev = newNode;
+        }
+        if (prevNode == null) {
+            head = newNode;
+        } else {
+            prevNode.next = newNode;
+        }
+    }
+
+    @Override
+    public boolean add(T obj) {
+        if (checkIfObjectIsNull(obj)) {
+            return false;
+        }
+        lock.run(LockOperation.ADD, () -> {
+            linkAfter(tail, new Node<>(obj, nextEpoch()));
+            this.size += 1;
+        });
+        return true;
+    }
+
+    @Override
+    public boolean add(int index, T obj) {
+        if (checkIfObjectIsNull(obj) || checkIfIndexIsIncorrect(index)) {
+            return false;
+        }
+        lock.run(LockOperation.ADD, () -> {
+            Node<T> newNode = new Node<>(obj, nextEpoch());
+            if (index == 0) {
+                linkAfter(null, newNode);
+            } else if (index == this.size - 1) {
+                linkAfter(tail, newNode);
+            } else {
+                linkAfter(getNodeByIndex(index).prev, newNode);
+            }
+            this.size += 1;
+        });
+        return true;
+    }
+
+    @Override
+    public T get(int index) {
+        if (checkIfIndexIsIncorrect(index)) {
+            throw new IllegalArgumentException("Wrong index");
+        }
+        return lock.execute(LockOperation.GET, () -> getNodeByIndex(index).version.data);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public int indexOf(T obj) {
+        if (checkIfObjectIsNull(obj)) {
+            return -1;
+        }
+        return indexOf(obj::equals);
+    }
+
+    @Override
+    public int lastIndexOf(T obj) {
+        if (checkIfObjectIsNull(obj)) {
+            return -1;
+        }
+        return lastIndexOf(obj::equals);
+    }
+
+    @Override
+    public int indexOf(Predicate<T> predicate) {
+        return lock.executeInt(LockOperation.INDEX_OF, () -> {
+            int index = 0;
+            for (Node<T> cur = nextLive(head); cur != null; cur = nextLive(cur.next)) {
+                if (predicate.test(cur.version.data)) {
+                    return index;
+                }
+                index += 1;
+            }
+            return -1;
+        });
+    }
+
+    @Override
+    public int lastIndexOf(Predicate<T> predicate) {
+        return lock.executeInt(LockOperation.INDEX_OF, () -> {
+            int index = this.size - 1;
+            for (Node<T> cur = prevLive(tail); cur != null; cur = prevLive(cur.prev)) {
+                if (predicate.test(cur.version.data)) {
+                    return index;
+                }
+                index -= 1;
+            }
+            return -1;
+        });
+    }
+
+    @Override
+    public boolean contains(T obj) {
+        return indexOf(obj) >= 0;
+    }
+
+    @Override
+    public T remove(int index) {
+        if (checkIfIndexIsIncorrect(index)) {
+            throw new IllegalArgumentException("Wrong index");
+        }
+        return lock.execute(LockOperation.REMOVE, () -> {
+            Node<T> removed = getNodeByIndex(index);
+            retire(removed, nextEpoch());
+            return removed.version.data;
+        });
+    }
+
+    @Override
+    public boolean remove(T obj) {
+        if (checkIfObjectIsNull(obj)) {
+            return false;
+        }
+        return lock.execute(LockOperation.REMOVE, () -> {
+            for (Node<T> cur = nextLive(head); cur != null; cur = nextLive(cur.next)) {
+                if (cur.version.data.equals(obj)) {
+                    retire(cur, nextEpoch());
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    @Override
+    public boolean removeAll(T obj) {
+        if (checkIfObjectIsNull(obj)) {
+            return false;
+        }
+        return removeIf(obj::equals);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<T> predicate) {
+        if (predicate == null) {
+            return false;
+        }
+        return lock.execute(LockOperation.REMOVE, () -> {
+            // every element is tested before any node is retired, so a throwing predicate changes nothing
+            List<Node<T>> matched = new ArrayList<>();
+            for (Node<T> cur = nextLive(head); cur != null; cur = nextLive(cur.next)) {
+                if (predicate.test(cur.version.data)) {
+                    matched.add(cur);
+                }
+            }
+            if (matched.isEmpty()) {
+                return false;
+            }
+            long writeEpoch = nextEpoch();
+            matched.forEach(node -> retire(node, writeEpoch));
+            return true;
+        });
+    }
+
+    @Override
+    public void clear() {
+        removeIf(elem -> true);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return lock.execute(LockOperation.OTHER, () -> {
+            Object[] arr = new Object[this.size];
+            int index = 0;
+            for (Node<T> cur = nextLive(head); cur != null; cur = nextLive(cur.next)) {
+                arr[index++] = cur.version.data;
+            }
+            return arr;
+        });
+    }
+
+    @Override
+    public boolean set(T obj, int index) {
+        if (checkIfObjectIsNull(obj) || checkIfIndexIsIncorrect(index)) {
+            return false;
+        }
+        lock.run(LockOperation.OTHER, () -> replaceData(getNodeByIndex(index), obj, nextEpoch()));
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<T> other) {
+        if (other == null) {
+            return false;
+        }
+        lock.run(LockOperation.ADD, () -> other.forEach(this::add));
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void addAll(ICollection<T> other, int index) {
+        lock.run(LockOperation.ADD, () -> {
+            final int[] indexCopy = {index};
+            Arrays.stream(other.toArray()).map(o -> (T) o).forEach(t -> {
+                this.add(indexCopy[0], t);
+                ++indexCopy[0];
+            });
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void sort(Comparator<T> comp) {
+        lock.run(LockOperation.SORT, () -> {
+            Object[] sorted = toArray();
+            Arrays.sort(sorted, (o1, o2) -> comp.compare((T) o1, (T) o2));
+            long writeEpoch = nextEpoch();
+            int index = 0;
+            for (Node<T> cur = nextLive(head); cur != null; cur = nextLive(cur.next)) {
+                if (cur.version.data != sorted[index]) {
+                    replaceData(cur, (T) sorted[index], writeEpoch);
+                }
+                index++;
+            }
+        });
+    }
+
+    @Override
+    public boolean containsAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        return c.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        return removeIf(elem -> !c.contains(elem));
+    }
+
+    @Override
+    public boolean removeAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        return removeIf(c::contains);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Iterator<T> iterator() {
+        return Arrays.stream(toArray()).map(o -> (T) o).iterator();
+    }
+}
@@ -0,0 +1,562 @@
+package collection_domain.map_domain;
+
+import collection_domain.HashUtils;
+import collection_domain.ICollection;
+
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public class CustomHashMap<K, V> implements IMap<K, V> {
+    private final static int DEFAULT_CAPACITY = 16;
+    private final static double DEFAULT_LOAD_FACTOR = 0.5;
+    // keys and values share one array of twice the capacity
+    private final static int MAXIMUM_CAPACITY = HashUtils.MAXIMUM_CAPACITY >> 1;
+    private final double loadFactor;
+    // keys at even and values at odd indexes, so a hit reads both from the same cache line
+    private Object[] table;
+    private int[] hashes;
+    private int size;
+    private int threshold;
+    private int modCount;
+
+    public CustomHashMap(int capacity, double loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("Wrong load factor");
+        }
+        this.loadFactor = loadFactor;
+        allocateTable(HashUtils.tableSizeFor(Math.min(Math.max(capacity, 2), MAXIMUM_CAPACITY)));
+    }
+
+    public CustomHashMap(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public CustomHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    private void allocateTable(int capacity) {
+        table = new Object[capacity << 1];
+        hashes = new int[capacity];
+        threshold = (int) Math.min(capacity * loadFactor, capacity - 1);
+    }
+
+    private int findSlot(Object key, int hash) {
+        int mask = hashes.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            Object cur = table[i << 1];
+            if (cur == null) {
+                return -(i + 1);
+            }
+            if (hashes[i] == hash && cur.equals(key)) {
+                return i;
+            }
+        }
+    }
+
+    // a resize is the only case where an insert has to probe a second time
+    private int insertionSlot(int missedSlot, Object key, int hash) {
+        if (size >= threshold) {
+            if (hashes.length >= MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("Map is too large");
+            }
+            resize(hashes.length << 1);
+            missedSlot = findSlot(key, hash);
+        }
+        return -missedSlot - 1;
+    }
+
+    private void resize(int capacity) {
+        Object[] oldTable = table;
+        int[] oldHashes = hashes;
+        allocateTable(capacity);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldTable[i << 1] != null) {
+                insertNew(oldTable[i << 1], oldTable[(i << 1) + 1], oldHashes[i]);
+            }
+        }
+    }
+
+    private void insertNew(Object key, Object value, int hash) {
+        int mask = hashes.length - 1;
+        int i = hash & mask;
+        while (table[i << 1] != null) {
+            i = (i + 1) & mask;
+        }
+        insertAt(i, key, value, hash);
+    }
+
+    private void insertAt(int slot, Object key, Object value, int hash) {
+        table[slot << 1] = key;
+        table[(slot << 1) + 1] = value;
+        hashes[slot] = hash;
+    }
+
+    private void deleteSlot(int slot) {
+        int mask = hashes.length - 1;
+        int hole = slot;
+        for (int i = (slot + 1) & mask; table[i << 1] != null; i = (i + 1) & mask) {
+            int ideal = hashes[i] & mask;
+            if (((i - ideal) & mask) >= ((i - hole) & mask)) {
+                insertAt(hole, table[i << 1], table[(i << 1) + 1], hashes[i]);
+                hole = i;
+            }
+        }
+        table[hole << 1] = null;
+        table[(hole << 1) + 1] = null;
+        size--;
+        modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int slot) {
+        return (V) table[(slot << 1) + 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(int slot) {
+        return (K) table[slot << 1];
+    }
+
+    // the predicate runs against the intact table and nothing changes until every entry is tested
+    private boolean removeEntriesIf(BiPredicate<K, V> predicate) {
+        int expectedModCount = modCount;
+        boolean[] removed = new boolean[hashes.length];
+        int removedCount = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            if (table[i << 1] != null && predicate.test(keyAt(i), valueAt(i))) {
+                removed[i] = true;
+                removedCount++;
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (removedCount == 0) {
+            return false;
+        }
+        Object[] oldTable = table;
+        int[] oldHashes = hashes;
+        allocateTable(oldHashes.length);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldTable[i << 1] != null && !removed[i]) {
+                insertNew(oldTable[i << 1], oldTable[(i << 1) + 1], oldHashes[i]);
+            }
+        }
+        size -= removedCount;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = findSlot(key, HashUtils.hash(key));
+        return slot >= 0 ? valueAt(slot) : null;
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        V res = get(key);
+        return res != null ? res : defaultValue;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            return null;
+        }
+        int hash = HashUtils.hash(key);
+        int slot = findSlot(key, hash);
+        if (slot >= 0) {
+            V res = valueAt(slot);
+            table[(slot << 1) + 1] = value;
+            return res;
+        }
+        insertAt(insertionSlot(slot, key, hash), key, value, hash);
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        if (key == null || value == null) {
+            return null;
+        }
+        int hash = HashUtils.hash(key);
+        int slot = findSlot(key, hash);
+        if (slot >= 0) {
+            return valueAt(slot);
+        }
+        insertAt(insertionSlot(slot, key, hash), key, value, hash);
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = findSlot(key, HashUtils.hash(key));
+        if (slot < 0) {
+            return null;
+        }
+        V res = valueAt(slot);
+        deleteSlot(slot);
+        return res;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return key != null && findSlot(key, HashUtils.hash(key)) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        return value != null && indexOfValue(value) >= 0;
+    }
+
+    private int indexOfValue(Object value) {
+        for (int i = 0; i < hashes.length; i++) {
+            if (table[i << 1] != null && table[(i << 1) + 1].equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null || mappingFunction == null) {
+            return null;
+        }
+        int hash = HashUtils.hash(key);
+        int slot = findSlot(key, hash);
+        if (slot >= 0) {
+            return valueAt(slot);
+        }
+        int expectedModCount = modCount;
+        V value = mappingFunction.apply(key);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (value == null) {
+            return null;
+        }
+        insertAt(insertionSlot(slot, key, hash), key, value, hash);
+        size++;
+        modCount++;
+        return value;
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null || value == null || remappingFunction == null) {
+            return null;
+        }
+        int hash = HashUtils.hash(key);
+        int slot = findSlot(key, hash);
+        if (slot < 0) {
+            insertAt(insertionSlot(slot, key, hash), key, value, hash);
+            size++;
+            modCount++;
+            return value;
+        }
+        int expectedModCount = modCount;
+        V res = remappingFunction.apply(valueAt(slot), value);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (res == null) {
+            deleteSlot(slot);
+        } else {
+            table[(slot << 1) + 1] = res;
+        }
+        return res;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) {
+            return;
+        }
+        for (int i = 0; i < hashes.length; i++) {
+            if (table[i << 1] != null) {
+                action.accept(keyAt(i), valueAt(i));
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        allocateTable(hashes.length);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public ICollection<K> keys() {
+        return new View<>() {
+            @Override
+            K elementAt(int slot) {
+                return keyAt(slot);
+            }
+
+            @Override
+            public boolean contains(K obj) {
+                return containsKey(obj);
+            }
+
+            @Override
+            public boolean remove(K obj) {
+                return CustomHashMap.this.remove(obj) != null;
+            }
+
+            @Override
+            public boolean removeIf(Predicate<K> predicate) {
+                return predicate != null && removeEntriesIf((k, v) -> predicate.test(k));
+            }
+        };
+    }
+
+    @Override
+    public ICollection<V> values() {
+        return new View<>() {
+            @Override
+            V elementAt(int slot) {
+                return valueAt(slot);
+            }
+
+            @Override
+            public boolean contains(V obj) {
+                return containsValue(obj);
+            }
+
+            @Override
+            public boolean remove(V obj) {
+                if (obj == null) {
+                    return false;
+                }
+                int slot = indexOfValue(obj);
+                if (slot < 0) {
+                    return false;
+                }
+                deleteSlot(slot);
+                return true;
+            }
+
+            @Override
+            public boolean removeIf(Predicate<V> predicate) {
+                return predicate != null && removeEntriesIf((k, v) -> predicate.test(v));
+            }
+        };
+    }
+
+    @Override
+    public ICollection<Map.Entry<K, V>> entries() {
+        return new View<>() {
+            @Override
+            Map.Entry<K, V> elementAt(int slot) {
+                return new MapEntry(keyAt(slot), valueAt(slot));
+            }
+
+            @Override
+            public boolean contains(Map.Entry<K, V> obj) {
+                return obj != null && obj.getValue() != null && obj.getValue().equals(get(obj.getKey()));
+            }
+
+            @Override
+            public boolean remove(Map.Entry<K, V> obj) {
+                if (!contains(obj)) {
+                    return false;
+                }
+                CustomHashMap.this.remove(obj.getKey());
+                return true;
+            }
+
+            @Override
+            public boolean removeIf(Predicate<Map.Entry<K, V>> predicate) {
+                return predicate != null && removeEntriesIf((k, v) -> predicate.test(new MapEntry(k, v)));
+            }
+        };
+    }
+
+    private class MapEntry implements Map.Entry<K, V> {
+        private final K key;
+        private V value;
+
+        MapEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Wrong value");
+            }
+            V res = this.value;
+            this.value = value;
+            put(key, value);
+            return res;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            return key.equals(other.getKey()) && Objects.equals(value, other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private abstract class View<E> implements ICollection<E> {
+        abstract E elementAt(int slot);
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public void clear() {
+            CustomHashMap.this.clear();
+        }
+
+        @Override
+        public boolean add(E obj) {
+            throw new UnsupportedOperationException("Map views do not support adding");
+        }
+
+        @Override
+        public boolean addAll(Collection<E> other) {
+            throw new UnsupportedOperationException("Map views do not support adding");
+        }
+
+        @Override
+        public Object[] toArray() {
+            Object[] res = new Object[size];
+            int index = 0;
+            for (int i = 0; i < hashes.length; i++) {
+                if (table[i << 1] != null) {
+                    res[index++] = elementAt(i);
+                }
+            }
+            return res;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new Iterator<>() {
+                final int expectedModCount = modCount;
+                int slot = nextSlot(0);
+
+                private int nextSlot(int from) {
+                    while (from < hashes.length && table[from << 1] == null) {
+                        from++;
+                    }
+                    return from;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return slot < hashes.length;
+                }
+
+                @Override
+                public E next() {
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    E res = elementAt(slot);
+                    slot = nextSlot(slot + 1);
+                    return res;
+                }
+            };
+        }
+
+        @Override
+        public boolean containsAll(Collection<E> c) {
+            if (c == null) {
+                return false;
+            }
+            return c.stream().allMatch(this::contains);
+        }
+
+        @Override
+        public boolean retainAll(Collection<E> c) {
+            if (c == null) {
+                return false;
+            }
+            removeIf(e -> !c.contains(e));
+            return true;
+        }
+
+        @Override
+        public boolean removeAll(Collection<E> c) {
+            if (c == null) {
+                return false;
+            }
+            final boolean[] flag = {true};
+            c.forEach(e -> {
+                if (!remove(e)) {
+                    flag[0] = false;
+                }
+            });
+            return flag[0];
+        }
+    }
+}
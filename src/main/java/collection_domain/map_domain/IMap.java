@@ -0,0 +1,42 @@
+package collection_domain.map_domain;
+
+import collection_domain.ICollection;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public interface IMap<K, V> {
+    V get(K key);
+
+    V getOrDefault(K key, V defaultValue);
+
+    V put(K key, V value);
+
+    V putIfAbsent(K key, V value);
+
+    V remove(K key);
+
+    boolean containsKey(K key);
+
+    boolean containsValue(V value);
+
+    V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction);
+
+    V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction);
+
+    void forEach(BiConsumer<? super K, ? super V> action);
+
+    int size();
+
+    boolean isEmpty();
+
+    void clear();
+
+    ICollection<K> keys();
+
+    ICollection<V> values();
+
+    ICollection<Map.Entry<K, V>> entries();
+}
@@ -0,0 +1,147 @@
+package collection_domain.set_domain;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+class ArrayContainer extends RoaringContainer {
+    private char[] values;
+    private int cardinality;
+
+    ArrayContainer(int capacity) {
+        values = new char[Math.max(capacity, 4)];
+    }
+
+    static ArrayContainer from(RoaringContainer container) {
+        if (container instanceof ArrayContainer) {
+            return (ArrayContainer) container;
+        }
+        int[] buffer = new int[container.cardinality()];
+        container.fill(0, buffer, 0);
+        ArrayContainer res = new ArrayContainer(buffer.length);
+        for (int value : buffer) {
+            res.values[res.cardinality++] = (char) value;
+        }
+        return res;
+    }
+
+    static int sizeInBytes(int cardinality) {
+        return cardinality * Character.BYTES;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    RoaringContainer add(char value) {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index >= 0) {
+            return this;
+        }
+        if (cardinality >= ARRAY_MAX_SIZE) {
+            return toBitmap().add(value);
+        }
+        index = -index - 1;
+        if (cardinality == values.length) {
+            values = Arrays.copyOf(values, Math.min(values.length << 1, ARRAY_MAX_SIZE));
+        }
+        System.arraycopy(values, index, values, index + 1, cardinality - index);
+        values[index] = value;
+        cardinality++;
+        return this;
+    }
+
+    @Override
+    RoaringContainer remove(char value) {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index < 0) {
+            return this;
+        }
+        System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+        cardinality--;
+        return this;
+    }
+
+    @Override
+    int fill(int high, int[] dest, int offset) {
+        for (int i = 0; i < cardinality; i++) {
+            dest[offset++] = high | values[i];
+        }
+        return offset;
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+        for (int i = 0; i < cardinality; i++) {
+            action.accept(high | values[i]);
+        }
+    }
+
+    void forEachValue(IntConsumer action) {
+        for (int i = 0; i < cardinality; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    ArrayContainer filter(RoaringContainer other, boolean keepContained) {
+        ArrayContainer res = new ArrayContainer(cardinality);
+        for (int i = 0; i < cardinality; i++) {
+            if (other.contains(values[i]) == keepContained) {
+                res.values[res.cardinality++] = values[i];
+            }
+        }
+        return res;
+    }
+
+    ArrayContainer merge(ArrayContainer other) {
+        ArrayContainer res = new ArrayContainer(cardinality + other.cardinality);
+        int i = 0;
+        int j = 0;
+        while (i < cardinality && j < other.cardinality) {
+            char a = values[i];
+            char b = other.values[j];
+            if (a == b) {
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+            res.values[res.cardinality++] = a <= b ? a : b;
+        }
+        while (i < cardinality) {
+            res.values[res.cardinality++] = values[i++];
+        }
+        while (j < other.cardinality) {
+            res.values[res.cardinality++] = other.values[j++];
+        }
+        return res;
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+        BitmapContainer res = new BitmapContainer();
+        forEachValue(res::set);
+        return res;
+    }
+
+    @Override
+    RoaringContainer copy() {
+        ArrayContainer res = new ArrayContainer(cardinality);
+        System.arraycopy(values, 0, res.values, 0, cardinality);
+        res.cardinality = cardinality;
+        return res;
+    }
+
+    @Override
+    int sizeInBytes() {
+        return sizeInBytes(cardinality);
+    }
+}
@@ -0,0 +1,592 @@
+package collection_domain.set_domain;
+
+import collection_domain.ICollection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+public class BTreeCustomSet<T> implements ICollection<T> {
+    private final static int DEFAULT_FANOUT = 64;
+    private final static int MIN_FANOUT = 4;
+    private final Comparator<T> comparator;
+    private final int fanout;
+    private final int minCount;
+    private Node root;
+    private Leaf firstLeaf;
+    private int size;
+    private Object separator;
+
+    // count is the number of keys in a leaf and the number of children in an inner node
+    private abstract static class Node {
+        int count;
+    }
+
+    private static class Leaf extends Node {
+        final Object[] keys;
+        Leaf next;
+        Leaf prev;
+
+        Leaf(int fanout) {
+            keys = new Object[fanout + 1];
+        }
+    }
+
+    private static class Inner extends Node {
+        final Object[] keys;
+        final Node[] children;
+
+        Inner(int fanout) {
+            keys = new Object[fanout];
+            children = new Node[fanout + 1];
+        }
+    }
+
+    public BTreeCustomSet(Comparator<T> comparator, int fanout) {
+        if (fanout < MIN_FANOUT) {
+            throw new IllegalArgumentException("Wrong fanout");
+        }
+        this.comparator = comparator;
+        this.fanout = fanout;
+        this.minCount = fanout / 2;
+        clear();
+    }
+
+    public BTreeCustomSet(Comparator<T> comparator) {
+        this(comparator, DEFAULT_FANOUT);
+    }
+
+    public BTreeCustomSet() {
+        this(null, DEFAULT_FANOUT);
+    }
+
+    public BTreeCustomSet(Collection<T> sortedElements, Comparator<T> comparator, int fanout) {
+        this(comparator, fanout);
+        bulkLoad(new ArrayList<>(sortedElements));
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object o1, Object o2) {
+        return comparator == null ? ((Comparable<Object>) o1).compareTo(o2) : comparator.compare((T) o1, (T) o2);
+    }
+
+    private void bulkLoad(List<T> elements) {
+        elements.removeIf(e -> e == null);
+        for (int i = 1; i < elements.size(); i++) {
+            if (compare(elements.get(i - 1), elements.get(i)) >= 0) {
+                throw new IllegalArgumentException("Elements are not sorted");
+            }
+        }
+        clear();
+        int n = elements.size();
+        if (n == 0) {
+            return;
+        }
+        int leavesCount = (n + fanout - 1) / fanout;
+        List<Node> level = new ArrayList<>(leavesCount);
+        List<Object> minKeys = new ArrayList<>(leavesCount);
+        Leaf prev = null;
+        int offset = 0;
+        for (int l = 0; l < leavesCount; l++) {
+            Leaf leaf = new Leaf(fanout);
+            leaf.count = n / leavesCount + (l < n % leavesCount ? 1 : 0);
+            for (int i = 0; i < leaf.count; i++) {
+                leaf.keys[i] = elements.get(offset++);
+            }
+            leaf.prev = prev;
+            if (prev != null) {
+                prev.next = leaf;
+            }
+            prev = leaf;
+            level.add(leaf);
+            minKeys.add(leaf.keys[0]);
+        }
+        while (level.size() > 1) {
+            int parentsCount = (level.size() + fanout - 1) / fanout;
+            List<Node> parents = new ArrayList<>(parentsCount);
+            List<Object> parentMinKeys = new ArrayList<>(parentsCount);
+            offset = 0;
+            for (int p = 0; p < parentsCount; p++) {
+                Inner inner = new Inner(fanout);
+                inner.count = level.size() / parentsCount + (p < level.size() % parentsCount ? 1 : 0);
+                parentMinKeys.add(minKeys.get(offset));
+                for (int i = 0; i < inner.count; i++) {
+                    if (i > 0) {
+                        inner.keys[i - 1] = minKeys.get(offset);
+                    }
+                    inner.children[i] = level.get(offset++);
+                }
+                parents.add(inner);
+            }
+            level = parents;
+            minKeys = parentMinKeys;
+        }
+        root = level.get(0);
+        Node node = root;
+        while (node instanceof Inner) {
+            node = ((Inner) node).children[0];
+        }
+        firstLeaf = (Leaf) node;
+        size = n;
+    }
+
+    private int search(Object[] keys, int count, Object key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(keys[mid], key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int childIndex(Inner node, Object key) {
+        int low = 0;
+        int high = node.count - 2;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (compare(node.keys[mid], key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private Leaf findLeaf(Object key) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[childIndex(inner, key)];
+        }
+        return (Leaf) node;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(T obj) {
+        if (obj == null) {
+            return false;
+        }
+        Leaf leaf = findLeaf(obj);
+        return search(leaf.keys, leaf.count, obj) >= 0;
+    }
+
+    @Override
+    public boolean add(T obj) {
+        if (obj == null) {
+            return false;
+        }
+        int oldSize = size;
+        Node right = insert(root, obj);
+        if (right != null) {
+            Inner newRoot = new Inner(fanout);
+            newRoot.children[0] = root;
+            newRoot.children[1] = right;
+            newRoot.keys[0] = separator;
+            newRoot.count = 2;
+            root = newRoot;
+        }
+        return size != oldSize;
+    }
+
+    private Node insert(Node node, T obj) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = search(leaf.keys, leaf.count, obj);
+            if (i >= 0) {
+                return null;
+            }
+            i = -i - 1;
+            System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.count - i);
+            leaf.keys[i] = obj;
+            leaf.count++;
+            size++;
+            return leaf.count > fanout ? splitLeaf(leaf) : null;
+        }
+        Inner inner = (Inner) node;
+        int i = childIndex(inner, obj);
+        Node right = insert(inner.children[i], obj);
+        if (right == null) {
+            return null;
+        }
+        System.arraycopy(inner.keys, i, inner.keys, i + 1, inner.count - 1 - i);
+        System.arraycopy(inner.children, i + 1, inner.children, i + 2, inner.count - 1 - i);
+        inner.keys[i] = separator;
+        inner.children[i + 1] = right;
+        inner.count++;
+        return inner.count > fanout ? splitInner(inner) : null;
+    }
+
+    private Leaf splitLeaf(Leaf leaf) {
+        Leaf right = new Leaf(fanout);
+        int mid = leaf.count / 2;
+        right.count = leaf.count - mid;
+        System.arraycopy(leaf.keys, mid, right.keys, 0, right.count);
+        for (int i = mid; i < leaf.count; i++) {
+            leaf.keys[i] = null;
+        }
+        leaf.count = mid;
+        right.next = leaf.next;
+        if (right.next != null) {
+            right.next.prev = right;
+        }
+        right.prev = leaf;
+        leaf.next = right;
+        separator = right.keys[0];
+        return right;
+    }
+
+    private Inner splitInner(Inner inner) {
+        Inner right = new Inner(fanout);
+        int leftCount = inner.count / 2;
+        right.count = inner.count - leftCount;
+        separator = inner.keys[leftCount - 1];
+        System.arraycopy(inner.keys, leftCount, right.keys, 0, right.count - 1);
+        System.arraycopy(inner.children, leftCount, right.children, 0, right.count);
+        for (int i = leftCount; i < inner.count; i++) {
+            inner.keys[i - 1] = null;
+            inner.children[i] = null;
+        }
+        inner.count = leftCount;
+        return right;
+    }
+
+    @Override
+    public boolean remove(T obj) {
+        if (obj == null || !delete(root, obj)) {
+            return false;
+        }
+        size--;
+        if (root instanceof Inner && root.count == 1) {
+            root = ((Inner) root).children[0];
+        }
+        return true;
+    }
+
+    private boolean delete(Node node, Object obj) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = search(leaf.keys, leaf.count, obj);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.count - i - 1);
+            leaf.keys[--leaf.count] = null;
+            return true;
+        }
+        Inner inner = (Inner) node;
+        int i = childIndex(inner, obj);
+        if (!delete(inner.children[i], obj)) {
+            return false;
+        }
+        if (inner.children[i].count < minCount) {
+            rebalance(inner, i);
+        }
+        return true;
+    }
+
+    private void rebalance(Inner parent, int i) {
+        if (i > 0 && parent.children[i - 1].count > minCount) {
+            borrowFromLeft(parent, i);
+        } else if (i < parent.count - 1 && parent.children[i + 1].count > minCount) {
+            borrowFromRight(parent, i);
+        } else if (i > 0) {
+            merge(parent, i - 1);
+        } else {
+            merge(parent, i);
+        }
+    }
+
+    private void borrowFromLeft(Inner parent, int i) {
+        Node node = parent.children[i];
+        Node sibling = parent.children[i - 1];
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            Leaf left = (Leaf) sibling;
+            System.arraycopy(leaf.keys, 0, leaf.keys, 1, leaf.count);
+            leaf.keys[0] = left.keys[--left.count];
+            left.keys[left.count] = null;
+            leaf.count++;
+            parent.keys[i - 1] = leaf.keys[0];
+        } else {
+            Inner inner = (Inner) node;
+            Inner left = (Inner) sibling;
+            System.arraycopy(inner.keys, 0, inner.keys, 1, inner.count - 1);
+            System.arraycopy(inner.children, 0, inner.children, 1, inner.count);
+            inner.keys[0] = parent.keys[i - 1];
+            inner.children[0] = left.children[left.count - 1];
+            inner.count++;
+            parent.keys[i - 1] = left.keys[left.count - 2];
+            left.keys[left.count - 2] = null;
+            left.children[--left.count] = null;
+        }
+    }
+
+    private void borrowFromRight(Inner parent, int i) {
+        Node node = parent.children[i];
+        Node sibling = parent.children[i + 1];
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            Leaf right = (Leaf) sibling;
+            leaf.keys[leaf.count++] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+            right.keys[--right.count] = null;
+            parent.keys[i] = right.keys[0];
+        } else {
+            Inner inner = (Inner) node;
+            Inner right = (Inner) sibling;
+            inner.keys[inner.count - 1] = parent.keys[i];
+            inner.children[inner.count++] = right.children[0];
+            parent.keys[i] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 2);
+            System.arraycopy(right.children, 1, right.children, 0, right.count - 1);
+            right.keys[right.count - 2] = null;
+            right.children[--right.count] = null;
+        }
+    }
+
+    private void merge(Inner parent, int i) {
+        Node node = parent.children[i];
+        Node sibling = parent.children[i + 1];
+        if (node instanceof Leaf) {
+            Leaf left = (Leaf) node;
+            Leaf right = (Leaf) sibling;
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+            left.count += right.count;
+            left.next = right.next;
+            if (left.next != null) {
+                left.next.prev = left;
+            }
+        } else {
+            Inner left = (Inner) node;
+            Inner right = (Inner) sibling;
+            left.keys[left.count - 1] = parent.keys[i];
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count - 1);
+            System.arraycopy(right.children, 0, left.children, left.count, right.count);
+            left.count += right.count;
+        }
+        System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.count - 2 - i);
+        System.arraycopy(parent.children, i + 2, parent.children, i + 1, parent.count - 2 - i);
+        parent.keys[parent.count - 2] = null;
+        parent.children[--parent.count] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T first() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return (T) firstLeaf.keys[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T last() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        Node node = root;
+        while (node instanceof Inner) {
+            node = ((Inner) node).children[node.count - 1];
+        }
+        return (T) ((Leaf) node).keys[node.count - 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T floor(T obj) {
+        if (obj == null || size == 0) {
+            return null;
+        }
+        Leaf leaf = findLeaf(obj);
+        int i = search(leaf.keys, leaf.count, obj);
+        if (i >= 0) {
+            return (T) leaf.keys[i];
+        }
+        i = -i - 1;
+        if (i > 0) {
+            return (T) leaf.keys[i - 1];
+        }
+        return leaf.prev == null ? null : (T) leaf.prev.keys[leaf.prev.count - 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T ceiling(T obj) {
+        if (obj == null || size == 0) {
+            return null;
+        }
+        Leaf leaf = findLeaf(obj);
+        int i = search(leaf.keys, leaf.count, obj);
+        i = i >= 0 ? i : -i - 1;
+        if (i < leaf.count) {
+            return (T) leaf.keys[i];
+        }
+        return leaf.next == null ? null : (T) leaf.next.keys[0];
+    }
+
+    public Iterable<T> subSet(T from, T to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Wrong range");
+        }
+        return () -> new RangeIterator(from, to);
+    }
+
+    public Iterable<T> headSet(T to) {
+        if (to == null) {
+            throw new IllegalArgumentException("Wrong range");
+        }
+        return () -> new RangeIterator(null, to);
+    }
+
+    public Iterable<T> tailSet(T from) {
+        if (from == null) {
+            throw new IllegalArgumentException("Wrong range");
+        }
+        return () -> new RangeIterator(from, null);
+    }
+
+    private class RangeIterator implements Iterator<T> {
+        private final Object to;
+        private Leaf leaf;
+        private int index;
+
+        RangeIterator(Object from, Object to) {
+            this.to = to;
+            if (from == null) {
+                leaf = firstLeaf;
+                index = 0;
+            } else {
+                leaf = findLeaf(from);
+                int i = search(leaf.keys, leaf.count, from);
+                index = i >= 0 ? i : -i - 1;
+            }
+            if (index >= leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null && (to == null || compare(leaf.keys[index], to) < 0);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T res = (T) leaf.keys[index++];
+            if (index == leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+            return res;
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new RangeIterator(null, null);
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] res = new Object[size];
+        int index = 0;
+        for (Leaf leaf = firstLeaf; leaf != null; leaf = leaf.next) {
+            System.arraycopy(leaf.keys, 0, res, index, leaf.count);
+            index += leaf.count;
+        }
+        return res;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<T> predicate) {
+        if (predicate == null) {
+            return false;
+        }
+        int oldSize = size;
+        List<T> survivors = new ArrayList<>(size);
+        for (T e : this) {
+            if (!predicate.test(e)) {
+                survivors.add(e);
+            }
+        }
+        bulkLoad(survivors);
+        return oldSize != size;
+    }
+
+    @Override
+    public boolean retainAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        removeIf(e -> !c.contains(e));
+        return true;
+    }
+
+    @Override
+    public boolean containsAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        return c.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public boolean addAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!add(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public boolean removeAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!remove(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public void clear() {
+        firstLeaf = new Leaf(fanout);
+        root = firstLeaf;
+        size = 0;
+    }
+}
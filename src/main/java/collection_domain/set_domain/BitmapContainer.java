@@ -0,0 +1,114 @@
+package collection_domain.set_domain;
+
+import java.util.function.IntConsumer;
+
+class BitmapContainer extends RoaringContainer {
+    static final int SIZE_IN_BYTES = BITMAP_WORDS * Long.BYTES;
+    final long[] words = new long[BITMAP_WORDS];
+    private int cardinality;
+
+    void set(int value) {
+        long mask = 1L << value;
+        if ((words[value >>> 6] & mask) == 0) {
+            words[value >>> 6] |= mask;
+            cardinality++;
+        }
+    }
+
+    void clear(int value) {
+        long mask = 1L << value;
+        if ((words[value >>> 6] & mask) != 0) {
+            words[value >>> 6] &= ~mask;
+            cardinality--;
+        }
+    }
+
+    void setRange(int from, int to) {
+        for (int value = from; value < to; ) {
+            int word = value >>> 6;
+            int end = Math.min(to, (word + 1) << 6);
+            long mask = (end - value == 64 ? -1L : ((1L << (end - value)) - 1)) << value;
+            cardinality += (end - value) - Long.bitCount(words[word] & mask);
+            words[word] |= mask;
+            value = end;
+        }
+    }
+
+    RoaringContainer normalize() {
+        cardinality = 0;
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        return cardinality <= ARRAY_MAX_SIZE ? ArrayContainer.from(this) : this;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    RoaringContainer add(char value) {
+        set(value);
+        return this;
+    }
+
+    @Override
+    RoaringContainer remove(char value) {
+        clear(value);
+        return cardinality <= ARRAY_MAX_SIZE ? ArrayContainer.from(this) : this;
+    }
+
+    @Override
+    int fill(int high, int[] dest, int offset) {
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                dest[offset++] = high | (i << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return offset;
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                action.accept(high | (i << 6) + Long.numberOfTrailingZeros(word));
+            }
+        }
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+        return (BitmapContainer) copy();
+    }
+
+    @Override
+    RoaringContainer copy() {
+        BitmapContainer res = new BitmapContainer();
+        System.arraycopy(words, 0, res.words, 0, BITMAP_WORDS);
+        res.cardinality = cardinality;
+        return res;
+    }
+
+    @Override
+    int sizeInBytes() {
+        return SIZE_IN_BYTES;
+    }
+
+    @Override
+    int runsCount() {
+        int runs = 0;
+        long previousTop = 0;
+        for (long word : words) {
+            runs += Long.bitCount(word & ~(word << 1 | previousTop));
+            previousTop = word >>> 63;
+        }
+        return runs;
+    }
+}
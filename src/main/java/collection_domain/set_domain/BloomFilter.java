@@ -0,0 +1,107 @@
+package collection_domain.set_domain;
+
+import collection_domain.HashUtils;
+
+public class BloomFilter {
+    private final double falsePositiveRate;
+    private long[] bits;
+    private long bitsCount;
+    private int hashFunctionsCount;
+    private long negativeCount;
+    private long positiveCount;
+    private long falsePositiveCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Wrong false positive rate");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        reset(expectedInsertions);
+    }
+
+    public void reset(long expectedInsertions) {
+        long n = Math.max(expectedInsertions, 1);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bitsCount = Math.max(64, (m + 63) & ~63L);
+        bits = new long[(int) Math.min(bitsCount >>> 6, Integer.MAX_VALUE - 8)];
+        bitsCount = (long) bits.length << 6;
+        hashFunctionsCount = Math.max(1, (int) Math.round((double) bitsCount / n * Math.log(2)));
+    }
+
+    // 64-bit double hashing, so filters larger than 2^32 bits use every bit
+    private long bitIndex(long h1, long h2, int i) {
+        return ((h1 + i * h2) & Long.MAX_VALUE) % bitsCount;
+    }
+
+    private static long firstHash(Object o) {
+        return HashUtils.hash(o) * 0x9E3779B97F4A7C15L;
+    }
+
+    private static long secondHash(long h1) {
+        return ((h1 ^ (h1 >>> 31)) * 0xBF58476D1CE4E5B9L) | 1;
+    }
+
+    public void put(Object o) {
+        long h1 = firstHash(o);
+        long h2 = secondHash(h1);
+        for (int i = 0; i < hashFunctionsCount; i++) {
+            long bit = bitIndex(h1, h2, i);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(Object o) {
+        if (probe(o)) {
+            positiveCount++;
+            return true;
+        }
+        negativeCount++;
+        return false;
+    }
+
+    // same test as mightContain without touching the statistics
+    boolean probe(Object o) {
+        long h1 = firstHash(o);
+        long h2 = secondHash(h1);
+        for (int i = 0; i < hashFunctionsCount; i++) {
+            long bit = bitIndex(h1, h2, i);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void recordFalsePositive() {
+        falsePositiveCount++;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public long getNegativeCount() {
+        return negativeCount;
+    }
+
+    public long getPositiveCount() {
+        return positiveCount;
+    }
+
+    public long getFalsePositiveCount() {
+        return falsePositiveCount;
+    }
+
+    public double getObservedFalsePositiveRate() {
+        long misses = negativeCount + falsePositiveCount;
+        return misses == 0 ? 0 : (double) falsePositiveCount / misses;
+    }
+
+    public long getBitsCount() {
+        return bitsCount;
+    }
+
+    public int getHashFunctionsCount() {
+        return hashFunctionsCount;
+    }
+}
@@ -0,0 +1,393 @@
+package collection_domain.set_domain;
+
+import collection_domain.HashUtils;
+import collection_domain.ICollection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+public class ConcurrentCustomSet<T> implements ICollection<T> {
+    private final static int DEFAULT_CAPACITY = 16;
+    private final static int MOVED = -1;
+    private final static int TRANSFER_STRIDE = 16;
+    private final static int RETRY = 0;
+    private final static int ADDED = 1;
+    private final static int PRESENT = 2;
+    private final AtomicReference<TableState<T>> state;
+    private final LongAdder size = new LongAdder();
+
+    private static class Node<T> {
+        final int hash;
+        final T key;
+        volatile Node<T> next;
+
+        Node(int hash, T key, Node<T> next) {
+            this.hash = hash;
+            this.key = key;
+            this.next = next;
+        }
+    }
+
+    private static class ForwardingNode<T> extends Node<T> {
+        final AtomicReferenceArray<Node<T>> nextTable;
+
+        ForwardingNode(AtomicReferenceArray<Node<T>> nextTable) {
+            super(MOVED, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    private static class TableState<T> {
+        final AtomicReferenceArray<Node<T>> table;
+        final AtomicReferenceArray<Node<T>> nextTable;
+        final AtomicInteger transferIndex = new AtomicInteger();
+        final AtomicInteger transferred = new AtomicInteger();
+
+        TableState(AtomicReferenceArray<Node<T>> table, AtomicReferenceArray<Node<T>> nextTable) {
+            this.table = table;
+            this.nextTable = nextTable;
+        }
+    }
+
+    public ConcurrentCustomSet(int capacity) {
+        state = new AtomicReference<>(new TableState<>(new AtomicReferenceArray<>(HashUtils.tableSizeFor(capacity)), null));
+    }
+
+    public ConcurrentCustomSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private static int spread(Object o) {
+        return HashUtils.hash(o) & Integer.MAX_VALUE;
+    }
+
+    private static int indexFor(AtomicReferenceArray<?> tab, int hash) {
+        return hash & (tab.length() - 1);
+    }
+
+    @Override
+    public int size() {
+        return size.intValue();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size.sum() <= 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        int hash = spread(o);
+        AtomicReferenceArray<Node<T>> tab = state.get().table;
+        while (true) {
+            Node<T> f = tab.get(indexFor(tab, hash));
+            if (f == null) {
+                return false;
+            }
+            if (f.hash == MOVED) {
+                tab = ((ForwardingNode<T>) f).nextTable;
+                continue;
+            }
+            for (Node<T> cur = f; cur != null; cur = cur.next) {
+                if (cur.hash == hash && cur.key.equals(o)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public boolean add(T e) {
+        if (e == null) {
+            return false;
+        }
+        int hash = spread(e);
+        AtomicReferenceArray<Node<T>> tab = state.get().table;
+        while (true) {
+            int i = indexFor(tab, hash);
+            Node<T> f = tab.get(i);
+            if (f == null) {
+                if (tab.compareAndSet(i, null, new Node<>(hash, e, null))) {
+                    break;
+                }
+            } else if (f.hash == MOVED) {
+                tab = helpTransfer(tab, (ForwardingNode<T>) f);
+            } else {
+                int result = ADDED;
+                synchronized (f) {
+                    if (tab.get(i) != f) {
+                        result = RETRY;
+                    } else {
+                        Node<T> last = f;
+                        for (Node<T> cur = f; cur != null; cur = cur.next) {
+                            if (cur.hash == hash && cur.key.equals(e)) {
+                                result = PRESENT;
+                                break;
+                            }
+                            last = cur;
+                        }
+                        if (result == ADDED) {
+                            last.next = new Node<>(hash, e, null);
+                        }
+                    }
+                }
+                if (result == PRESENT) {
+                    return false;
+                }
+                if (result == ADDED) {
+                    break;
+                }
+            }
+        }
+        size.increment();
+        checkResize();
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        int hash = spread(o);
+        AtomicReferenceArray<Node<T>> tab = state.get().table;
+        while (true) {
+            int i = indexFor(tab, hash);
+            Node<T> f = tab.get(i);
+            if (f == null) {
+                return false;
+            }
+            if (f.hash == MOVED) {
+                tab = helpTransfer(tab, (ForwardingNode<T>) f);
+                continue;
+            }
+            synchronized (f) {
+                if (tab.get(i) != f) {
+                    continue;
+                }
+                Node<T> prev = null;
+                for (Node<T> cur = f; cur != null; prev = cur, cur = cur.next) {
+                    if (cur.hash == hash && cur.key.equals(o)) {
+                        if (prev == null) {
+                            tab.set(i, cur.next);
+                        } else {
+                            prev.next = cur.next;
+                        }
+                        size.decrement();
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+    }
+
+    private AtomicReferenceArray<Node<T>> helpTransfer(AtomicReferenceArray<Node<T>> tab, ForwardingNode<T> forwardingNode) {
+        TableState<T> current = state.get();
+        if (current.table == tab && current.nextTable != null) {
+            transfer(current);
+        }
+        return forwardingNode.nextTable;
+    }
+
+    private void checkResize() {
+        while (true) {
+            TableState<T> current = state.get();
+            if (current.nextTable != null) {
+                transfer(current);
+                if (state.get() == current) {
+                    return;
+                }
+                continue;
+            }
+            int n = current.table.length();
+            if (size.sum() < n - (n >>> 2) || n >= HashUtils.MAXIMUM_CAPACITY) {
+                return;
+            }
+            TableState<T> resized = new TableState<>(current.table, new AtomicReferenceArray<>(n << 1));
+            if (state.compareAndSet(current, resized)) {
+                transfer(resized);
+            }
+        }
+    }
+
+    private void transfer(TableState<T> resizing) {
+        int n = resizing.table.length();
+        while (true) {
+            int start = resizing.transferIndex.getAndAdd(TRANSFER_STRIDE);
+            if (start >= n) {
+                return;
+            }
+            int end = Math.min(start + TRANSFER_STRIDE, n);
+            ForwardingNode<T> forwardingNode = new ForwardingNode<>(resizing.nextTable);
+            for (int i = start; i < end; i++) {
+                moveBin(resizing.table, resizing.nextTable, i, forwardingNode);
+            }
+            if (resizing.transferred.addAndGet(end - start) == n) {
+                state.compareAndSet(resizing, new TableState<>(resizing.nextTable, null));
+                return;
+            }
+        }
+    }
+
+    private void moveBin(AtomicReferenceArray<Node<T>> tab, AtomicReferenceArray<Node<T>> nextTab, int i,
+                         ForwardingNode<T> forwardingNode) {
+        int n = tab.length();
+        while (true) {
+            Node<T> f = tab.get(i);
+            if (f == null) {
+                if (tab.compareAndSet(i, null, forwardingNode)) {
+                    return;
+                }
+                continue;
+            }
+            synchronized (f) {
+                if (tab.get(i) != f) {
+                    continue;
+                }
+                Node<T> low = null;
+                Node<T> high = null;
+                for (Node<T> cur = f; cur != null; cur = cur.next) {
+                    if ((cur.hash & n) == 0) {
+                        low = new Node<>(cur.hash, cur.key, low);
+                    } else {
+                        high = new Node<>(cur.hash, cur.key, high);
+                    }
+                }
+                nextTab.set(i, low);
+                nextTab.set(i + n, high);
+                tab.set(i, forwardingNode);
+                return;
+            }
+        }
+    }
+
+    private void collect(AtomicReferenceArray<Node<T>> tab, int i, List<T> res) {
+        Node<T> f = tab.get(i);
+        if (f != null && f.hash == MOVED) {
+            AtomicReferenceArray<Node<T>> nextTab = ((ForwardingNode<T>) f).nextTable;
+            collect(nextTab, i, res);
+            collect(nextTab, i + tab.length(), res);
+            return;
+        }
+        for (Node<T> cur = f; cur != null; cur = cur.next) {
+            res.add(cur.key);
+        }
+    }
+
+    private List<T> elements() {
+        AtomicReferenceArray<Node<T>> tab = state.get().table;
+        List<T> res = new ArrayList<>(Math.max(size(), 0));
+        for (int i = 0; i < tab.length(); i++) {
+            collect(tab, i, res);
+        }
+        return res;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return elements().iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements().toArray();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<T> predicate) {
+        if (predicate == null) {
+            return false;
+        }
+        boolean removed = false;
+        for (T elem : elements()) {
+            if (predicate.test(elem) && remove(elem)) {
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        removeIf(e -> !c.contains(e));
+        return true;
+    }
+
+    @Override
+    public boolean containsAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        return c.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public boolean addAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!add(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public boolean removeAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!remove(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public void clear() {
+        AtomicReferenceArray<Node<T>> tab = state.get().table;
+        int i = 0;
+        while (i < tab.length()) {
+            Node<T> f = tab.get(i);
+            if (f == null) {
+                i++;
+            } else if (f.hash == MOVED) {
+                tab = helpTransfer(tab, (ForwardingNode<T>) f);
+                i = 0;
+            } else {
+                synchronized (f) {
+                    if (tab.get(i) == f) {
+                        int count = 0;
+                        for (Node<T> cur = f; cur != null; cur = cur.next) {
+                            count++;
+                        }
+                        tab.set(i, null);
+                        size.add(-count);
+                        i++;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package collection_domain.set_domain;
+
+import collection_domain.HashUtils;
+import collection_domain.ICollection;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+public class CuckooCustomSet<T> implements ICollection<T> {
+    private final static int SLOTS_PER_BUCKET = 4;
+    private final static int STASH_SIZE = 4;
+    private final static int MAX_KICKS = 256;
+    private final static int MAX_REHASH_ATTEMPTS = 4;
+    private final static int DEFAULT_CAPACITY = 16;
+    private final static int MAXIMUM_BUCKETS = HashUtils.MAXIMUM_CAPACITY / SLOTS_PER_BUCKET;
+    private final static double MAX_LOAD = 0.9;
+    private final static int SEED_INCREMENT = 0x9E3779B9;
+    private Object[] keys;
+    private int[] hashes;
+    private Object[] stash = new Object[STASH_SIZE];
+    private int[] stashHashes = new int[STASH_SIZE];
+    private int stashSize;
+    private int bucketMask;
+    private int seed;
+    private int kickState = 0x2545F491;
+    private int size;
+    private int threshold;
+    // key left without a slot after a failed kick-out chain
+    private Object homeless;
+    private int homelessHash;
+
+    public CuckooCustomSet(int capacity) {
+        allocateTable(bucketsFor(capacity));
+    }
+
+    public CuckooCustomSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private static int bucketsFor(int capacity) {
+        int buckets = HashUtils.tableSizeFor((long) Math.ceil(capacity / (double) SLOTS_PER_BUCKET), MAX_LOAD);
+        return Math.max(2, Math.min(buckets, MAXIMUM_BUCKETS));
+    }
+
+    private void allocateTable(int buckets) {
+        keys = new Object[buckets * SLOTS_PER_BUCKET];
+        hashes = new int[buckets * SLOTS_PER_BUCKET];
+        bucketMask = buckets - 1;
+        threshold = (int) (keys.length * MAX_LOAD);
+    }
+
+    private int alternate(int bucket, int hash) {
+        return bucket ^ ((HashUtils.spread(hash ^ seed) | 1) & bucketMask);
+    }
+
+    private int nextKickSlot() {
+        kickState ^= kickState << 13;
+        kickState ^= kickState >>> 17;
+        kickState ^= kickState << 5;
+        return kickState & (SLOTS_PER_BUCKET - 1);
+    }
+
+    private int bucketIndexOf(int bucket, int hash, Object o) {
+        int start = bucket * SLOTS_PER_BUCKET;
+        for (int i = start; i < start + SLOTS_PER_BUCKET; i++) {
+            if (hashes[i] == hash && keys[i] != null && keys[i].equals(o)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int stashIndexOf(int hash, Object o) {
+        for (int i = 0; i < stashSize; i++) {
+            if (stashHashes[i] == hash && stash[i].equals(o)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int findSlot(Object o, int hash) {
+        int bucket = hash & bucketMask;
+        int slot = bucketIndexOf(bucket, hash, o);
+        return slot >= 0 ? slot : bucketIndexOf(alternate(bucket, hash), hash, o);
+    }
+
+    private boolean placeInBucket(int bucket, Object key, int hash) {
+        int start = bucket * SLOTS_PER_BUCKET;
+        for (int i = start; i < start + SLOTS_PER_BUCKET; i++) {
+            if (keys[i] == null) {
+                keys[i] = key;
+                hashes[i] = hash;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean place(Object key, int hash) {
+        int bucket = hash & bucketMask;
+        if (placeInBucket(bucket, key, hash) || placeInBucket(alternate(bucket, hash), key, hash)) {
+            return true;
+        }
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int slot = bucket * SLOTS_PER_BUCKET + nextKickSlot();
+            Object victim = keys[slot];
+            int victimHash = hashes[slot];
+            keys[slot] = key;
+            hashes[slot] = hash;
+            key = victim;
+            hash = victimHash;
+            bucket = alternate(bucket, hash);
+            if (placeInBucket(bucket, key, hash)) {
+                return true;
+            }
+        }
+        if (stashSize < stash.length) {
+            stash[stashSize] = key;
+            stashHashes[stashSize++] = hash;
+            return true;
+        }
+        homeless = key;
+        homelessHash = hash;
+        return false;
+    }
+
+    private void rehash(int buckets) {
+        Object[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        Object[] oldStash = stash;
+        int[] oldStashHashes = stashHashes;
+        int oldStashSize = stashSize;
+        int oldSeed = seed;
+        Object pending = homeless;
+        int pendingHash = homelessHash;
+        homeless = null;
+        for (int attempt = 1; attempt <= MAX_REHASH_ATTEMPTS; attempt++) {
+            if (attempt % 2 == 0 && buckets < MAXIMUM_BUCKETS) {
+                buckets <<= 1;
+            }
+            seed += SEED_INCREMENT;
+            allocateTable(buckets);
+            stash = new Object[Math.max(STASH_SIZE, oldStashSize)];
+            stashHashes = new int[stash.length];
+            stashSize = 0;
+            boolean placed = pending == null || place(pending, pendingHash);
+            for (int i = 0; placed && i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    placed = place(oldKeys[i], oldHashes[i]);
+                }
+            }
+            for (int i = 0; placed && i < oldStashSize; i++) {
+                placed = place(oldStash[i], oldStashHashes[i]);
+            }
+            if (placed) {
+                return;
+            }
+            homeless = null;
+        }
+        // keys sharing a full hash code cannot be separated by reseeding, so they overflow the stash
+        keys = oldKeys;
+        hashes = oldHashes;
+        seed = oldSeed;
+        bucketMask = oldKeys.length / SLOTS_PER_BUCKET - 1;
+        threshold = (int) (oldKeys.length * MAX_LOAD);
+        stash = Arrays.copyOf(oldStash, oldStashSize + 1);
+        stashHashes = Arrays.copyOf(oldStashHashes, oldStashSize + 1);
+        stashSize = oldStashSize;
+        if (pending != null) {
+            stash[stashSize] = pending;
+            stashHashes[stashSize++] = pendingHash;
+        }
+    }
+
+    private void drainStash() {
+        for (int i = stashSize - 1; i >= 0; i--) {
+            int bucket = stashHashes[i] & bucketMask;
+            if (placeInBucket(bucket, stash[i], stashHashes[i])
+                    || placeInBucket(alternate(bucket, stashHashes[i]), stash[i], stashHashes[i])) {
+                removeFromStash(i);
+            }
+        }
+    }
+
+    private void removeFromStash(int index) {
+        stashSize--;
+        stash[index] = stash[stashSize];
+        stashHashes[index] = stashHashes[stashSize];
+        stash[stashSize] = null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        int hash = HashUtils.hash(o);
+        return findSlot(o, hash) >= 0 || stashIndexOf(hash, o) >= 0;
+    }
+
+    @Override
+    public boolean add(T e) {
+        if (e == null) {
+            return false;
+        }
+        int hash = HashUtils.hash(e);
+        if (findSlot(e, hash) >= 0 || stashIndexOf(hash, e) >= 0) {
+            return false;
+        }
+        if (size >= threshold && bucketMask + 1 < MAXIMUM_BUCKETS) {
+            rehash((bucketMask + 1) << 1);
+        }
+        if (!place(e, hash)) {
+            rehash(bucketMask + 1);
+        }
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        int hash = HashUtils.hash(o);
+        int slot = findSlot(o, hash);
+        if (slot >= 0) {
+            keys[slot] = null;
+            size--;
+            if (stashSize > 0) {
+                drainStash();
+            }
+            return true;
+        }
+        int stashIndex = stashIndexOf(hash, o);
+        if (stashIndex < 0) {
+            return false;
+        }
+        removeFromStash(stashIndex);
+        size--;
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean removeIf(Predicate<T> predicate) {
+        if (predicate == null) {
+            return false;
+        }
+        int oldSize = size;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && predicate.test((T) keys[i])) {
+                keys[i] = null;
+                size--;
+            }
+        }
+        for (int i = stashSize - 1; i >= 0; i--) {
+            if (predicate.test((T) stash[i])) {
+                removeFromStash(i);
+                size--;
+            }
+        }
+        drainStash();
+        return oldSize != size;
+    }
+
+    @Override
+    public boolean retainAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        removeIf(e -> !c.contains(e));
+        return true;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] res = new Object[size];
+        int index = 0;
+        for (Object key : keys) {
+            if (key != null) {
+                res[index++] = key;
+            }
+        }
+        System.arraycopy(stash, 0, res, index, stashSize);
+        return res;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            int slot = nextSlot(0);
+
+            private int nextSlot(int from) {
+                while (from < keys.length && keys[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < keys.length + stashSize;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (slot >= keys.length) {
+                    return (T) stash[slot++ - keys.length];
+                }
+                T res = (T) keys[slot];
+                slot = nextSlot(slot + 1);
+                return res;
+            }
+        };
+    }
+
+    @Override
+    public boolean containsAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        return c.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public boolean addAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!add(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public boolean removeAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!remove(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        stashSize = 0;
+        Arrays.fill(stash, null);
+        allocateTable(bucketMask + 1);
+    }
+}
@@ -0,0 +1,428 @@
+package collection_domain.set_domain;
+
+import collection_domain.HashUtils;
+import collection_domain.ICollection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+
+// ICollection operations work on single occurrences, size() and iteration on distinct elements
+public class CustomMultiset<T> implements ICollection<T> {
+    private final static int DEFAULT_CAPACITY = 16;
+    private final static double LOAD_FACTOR = 0.5;
+    private Object[] keys;
+    private int[] hashes;
+    private long[] counts;
+    private int size;
+    private int threshold;
+    private long totalCount;
+
+    public CustomMultiset(int capacity) {
+        allocateTable(HashUtils.tableSizeFor(Math.max(capacity, 2), LOAD_FACTOR));
+    }
+
+    public CustomMultiset() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private void allocateTable(int capacity) {
+        keys = new Object[capacity];
+        hashes = new int[capacity];
+        counts = new long[capacity];
+        threshold = (int) Math.min(capacity * LOAD_FACTOR, capacity - 1);
+    }
+
+    private int findSlot(Object o, int hash) {
+        int mask = keys.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            Object cur = keys[i];
+            if (cur == null) {
+                return -(i + 1);
+            }
+            if (hashes[i] == hash && cur.equals(o)) {
+                return i;
+            }
+        }
+    }
+
+    private int insertionSlot(int missedSlot, Object o, int hash) {
+        if (size >= threshold) {
+            if (keys.length >= HashUtils.MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("Multiset is too large");
+            }
+            resize(keys.length << 1);
+            missedSlot = findSlot(o, hash);
+        }
+        return -missedSlot - 1;
+    }
+
+    private void resize(int capacity) {
+        Object[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        long[] oldCounts = counts;
+        allocateTable(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insertNew(oldKeys[i], oldHashes[i], oldCounts[i]);
+            }
+        }
+    }
+
+    private void insertNew(Object key, int hash, long count) {
+        int mask = keys.length - 1;
+        int i = hash & mask;
+        while (keys[i] != null) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        hashes[i] = hash;
+        counts[i] = count;
+    }
+
+    private void deleteSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        for (int i = (slot + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+            int ideal = hashes[i] & mask;
+            if (((i - ideal) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                hashes[hole] = hashes[i];
+                counts[hole] = counts[i];
+                hole = i;
+            }
+        }
+        keys[hole] = null;
+        size--;
+    }
+
+    public long add(T e, long occurrences) {
+        if (occurrences < 0) {
+            throw new IllegalArgumentException("Wrong count");
+        }
+        if (e == null) {
+            return 0;
+        }
+        int hash = HashUtils.hash(e);
+        int slot = findSlot(e, hash);
+        if (slot >= 0) {
+            long res = counts[slot];
+            long total = Math.addExact(totalCount, occurrences);
+            counts[slot] = Math.addExact(res, occurrences);
+            totalCount = total;
+            return res;
+        }
+        if (occurrences > 0) {
+            insertNewCount(slot, e, hash, occurrences);
+        }
+        return 0;
+    }
+
+    private void insertNewCount(int missedSlot, T e, int hash, long count) {
+        long total = Math.addExact(totalCount, count);
+        int slot = insertionSlot(missedSlot, e, hash);
+        keys[slot] = e;
+        hashes[slot] = hash;
+        counts[slot] = count;
+        size++;
+        totalCount = total;
+    }
+
+    public long remove(T e, long occurrences) {
+        if (occurrences < 0) {
+            throw new IllegalArgumentException("Wrong count");
+        }
+        if (e == null) {
+            return 0;
+        }
+        int slot = findSlot(e, HashUtils.hash(e));
+        if (slot < 0) {
+            return 0;
+        }
+        long res = counts[slot];
+        if (occurrences >= res) {
+            deleteSlot(slot);
+            totalCount -= res;
+        } else {
+            counts[slot] = res - occurrences;
+            totalCount -= occurrences;
+        }
+        return res;
+    }
+
+    public long setCount(T e, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Wrong count");
+        }
+        if (e == null) {
+            return 0;
+        }
+        int hash = HashUtils.hash(e);
+        int slot = findSlot(e, hash);
+        if (slot < 0) {
+            if (count > 0) {
+                insertNewCount(slot, e, hash, count);
+            }
+            return 0;
+        }
+        long res = counts[slot];
+        if (count == 0) {
+            deleteSlot(slot);
+            totalCount -= res;
+        } else {
+            totalCount = Math.addExact(totalCount, count - res);
+            counts[slot] = count;
+        }
+        return res;
+    }
+
+    public long count(T e) {
+        if (e == null) {
+            return 0;
+        }
+        int slot = findSlot(e, HashUtils.hash(e));
+        return slot >= 0 ? counts[slot] : 0;
+    }
+
+    public long totalCount() {
+        return totalCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachEntry(ObjLongConsumer<? super T> action) {
+        if (action == null) {
+            return;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept((T) keys[i], counts[i]);
+            }
+        }
+    }
+
+    // keeps the k most frequent slots in a min-heap, so only k elements are ever ordered
+    @SuppressWarnings("unchecked")
+    public List<T> topK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Wrong k");
+        }
+        int[] heap = new int[Math.min(k, size)];
+        int heapSize = 0;
+        for (int i = 0; i < keys.length && heap.length > 0; i++) {
+            if (keys[i] == null) {
+                continue;
+            }
+            if (heapSize < heap.length) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize++);
+            } else if (counts[i] > counts[heap[0]]) {
+                heap[0] = i;
+                siftDown(heap, 0, heapSize);
+            }
+        }
+        Object[] res = new Object[heapSize];
+        while (heapSize > 0) {
+            res[--heapSize] = keys[heap[0]];
+            heap[0] = heap[heapSize];
+            siftDown(heap, 0, heapSize);
+        }
+        List<T> list = new ArrayList<>(res.length);
+        for (Object e : res) {
+            list.add((T) e);
+        }
+        return list;
+    }
+
+    private void siftUp(int[] heap, int index) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[slot]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = slot;
+    }
+
+    private void siftDown(int[] heap, int index, int heapSize) {
+        int slot = heap[index];
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            if (child + 1 < heapSize && counts[heap[child + 1]] < counts[heap[child]]) {
+                child++;
+            }
+            if (counts[slot] <= counts[heap[child]]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = slot;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(T obj) {
+        return count(obj) > 0;
+    }
+
+    @Override
+    public boolean add(T obj) {
+        if (obj == null) {
+            return false;
+        }
+        add(obj, 1);
+        return true;
+    }
+
+    @Override
+    public boolean remove(T obj) {
+        return remove(obj, 1) > 0;
+    }
+
+    // the predicate runs against the intact table and nothing changes until every element is tested
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean removeIf(Predicate<T> predicate) {
+        if (predicate == null) {
+            return false;
+        }
+        boolean[] removed = new boolean[keys.length];
+        boolean any = false;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && predicate.test((T) keys[i])) {
+                removed[i] = true;
+                any = true;
+            }
+        }
+        if (!any) {
+            return false;
+        }
+        Object[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        long[] oldCounts = counts;
+        allocateTable(oldKeys.length);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) {
+                continue;
+            }
+            if (removed[i]) {
+                size--;
+                totalCount -= oldCounts[i];
+            } else {
+                insertNew(oldKeys[i], oldHashes[i], oldCounts[i]);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean retainAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        removeIf(e -> !c.contains(e));
+        return true;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] res = new Object[size];
+        int index = 0;
+        for (Object key : keys) {
+            if (key != null) {
+                res[index++] = key;
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            int slot = nextSlot(0);
+
+            private int nextSlot(int from) {
+                while (from < keys.length && keys[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < keys.length;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T res = (T) keys[slot];
+                slot = nextSlot(slot + 1);
+                return res;
+            }
+        };
+    }
+
+    @Override
+    public boolean containsAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        return c.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public boolean addAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!add(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public boolean removeAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!remove(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public void clear() {
+        allocateTable(keys.length);
+        size = 0;
+        totalCount = 0;
+    }
+}
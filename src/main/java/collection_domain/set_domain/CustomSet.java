@@ -1,37 +1,90 @@
 package collection_domain.set_domain;
 
+import collection_domain.HashUtils;
 import collection_domain.ICollection;
 
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 public class CustomSet<T> implements ICollection<T> {
-    private List<T>[] table;
+    private final static int MIGRATION_STEP = 8;
+    private final static int TREEIFY_THRESHOLD = 8;
+    private final static int UNTREEIFY_THRESHOLD = 6;
+    private Collection<T>[] table;
+    private Collection<T>[] oldTable;
+    private int migrationIndex;
     private int size;
     private int capacity;
     private final double loadFactor;
+    private final boolean incrementalResize;
+    private BloomFilter bloomFilter;
+    private int removalsSinceRebuild;
+
+    private interface HashedPredicate<T> {
+        boolean test(T e, int hash);
+    }
 
     @SuppressWarnings("unchecked")
-    public CustomSet(int capacity, double loadFactor) {
-        table = new LinkedList[capacity];
-        this.capacity = capacity;
+    public CustomSet(int capacity, double loadFactor, boolean incrementalResize) {
+        if (loadFactor <= 0) {
+            throw new IllegalArgumentException("Wrong load factor");
+        }
+        this.capacity = HashUtils.tableSizeFor(capacity);
         this.loadFactor = loadFactor;
+        this.incrementalResize = incrementalResize;
+        table = new Collection[this.capacity];
+    }
+
+    public CustomSet(int capacity, double loadFactor) {
+        this(capacity, loadFactor, false);
     }
 
-    @SuppressWarnings("unchecked")
     public CustomSet(int capacity) {
-        table = new LinkedList[capacity];
-        this.capacity = capacity;
-        this.loadFactor = 0.75;
+        this(capacity, 0.75);
     }
 
     public CustomSet() {
         this(16, 0.75);
     }
 
+    public static <T> CustomSet<T> withExpectedSize(int expectedSize, double loadFactor) {
+        return new CustomSet<>(HashUtils.tableSizeFor(expectedSize, loadFactor), loadFactor);
+    }
+
+    public static <T> CustomSet<T> withExpectedSize(int expectedSize) {
+        return withExpectedSize(expectedSize, 0.75);
+    }
+
+    public void enableBloomFilter(double falsePositiveRate) {
+        bloomFilter = new BloomFilter(expectedInsertions(), falsePositiveRate);
+        rebuildBloomFilter();
+    }
+
+    public void disableBloomFilter() {
+        bloomFilter = null;
+    }
+
+    public BloomFilter getBloomFilter() {
+        return bloomFilter;
+    }
+
+    private long expectedInsertions() {
+        return Math.max(size, (long) (capacity * loadFactor));
+    }
+
+    private void rebuildBloomFilter() {
+        if (bloomFilter == null) {
+            return;
+        }
+        bloomFilter.reset(expectedInsertions());
+        forEach(bloomFilter::put);
+        removalsSinceRebuild = 0;
+    }
+
     @Override
     public int size() {
         return size;
@@ -44,19 +97,33 @@ public class CustomSet<T> implements ICollection<T> {
 
     @Override
     public boolean contains(Object o) {
-        int index = getHashedIndex(o);
-        if (table[index] == null) {
+        if (bloomFilter != null && !bloomFilter.mightContain(o)) {
             return false;
         }
-        return table[index].contains(o);
+        boolean res = containsHashed(HashUtils.hash(o), o);
+        if (!res && bloomFilter != null) {
+            bloomFilter.recordFalsePositive();
+        }
+        return res;
+    }
+
+    private boolean containsHashed(int hash, Object o) {
+        return bucketContains(table, hash, o) || (oldTable != null && bucketContains(oldTable, hash, o));
+    }
+
+    private boolean bucketContains(Collection<T>[] tab, int hash, Object o) {
+        Collection<T> bucket = tab[hash & (tab.length - 1)];
+        return bucket != null && bucket.contains(o);
     }
 
     @Override
     public Iterator<T> iterator() {
         return new Iterator<>() {
+            final Collection<T>[] secondTable = oldTable;
+            Collection<T>[] currentTable = table;
+            Iterator<T> bucketIterator;
             int totalCount = 0;
             int tableIndex = 0;
-            int bucketIndex = 0;
 
             @Override
             public boolean hasNext() {
@@ -65,18 +132,19 @@ public class CustomSet<T> implements ICollection<T> {
 
             @Override
             public T next() {
-                while (table[tableIndex] == null || table[tableIndex].isEmpty()) {
-                    tableIndex++;
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
                 }
-                T res = table[tableIndex].get(bucketIndex);
-                totalCount++;
-                if (bucketIndex < table[tableIndex].size() - 1) {
-                    bucketIndex++;
-                } else {
-                    bucketIndex = 0;
-                    tableIndex++;
+                while (bucketIterator == null || !bucketIterator.hasNext()) {
+                    if (tableIndex == currentTable.length) {
+                        currentTable = secondTable;
+                        tableIndex = 0;
+                    }
+                    Collection<T> bucket = currentTable[tableIndex++];
+                    bucketIterator = bucket == null ? null : bucket.iterator();
                 }
-                return res;
+                totalCount++;
+                return bucketIterator.next();
             }
         };
     }
@@ -86,14 +154,9 @@ public class CustomSet<T> implements ICollection<T> {
         if (predicate == null) {
             return false;
         } else {
-            CustomSet<T> temp = new CustomSet<>(this.capacity);
-            this.forEach(e -> {
-                if (!predicate.test(e)) {
-                    temp.add(e);
-                }
-            });
-            this.size = temp.size;
-            this.table = temp.table;
+            CustomSet<T> temp = new CustomSet<>(this.capacity, this.loadFactor, this.incrementalResize);
+            temp.size = temp.scatter(this, (e, hash) -> !predicate.test(e), false);
+            replaceWith(temp);
             return true;
         }
     }
@@ -103,83 +166,228 @@ public class CustomSet<T> implements ICollection<T> {
         if (c == null) {
             return false;
         } else {
-            CustomSet<T> temp = new CustomSet<>(this.capacity);
-            this.forEach(e -> {
-                if (c.contains(e)) {
-                    temp.add(e);
-                }
-            });
-            this.size = temp.size;
-            this.table = temp.table;
+            CustomSet<T> temp = new CustomSet<>(this.capacity, this.loadFactor, this.incrementalResize);
+            temp.size = temp.scatter(this, (e, hash) -> c.contains(e), false);
+            replaceWith(temp);
             return true;
         }
     }
 
+    public CustomSet<T> union(CustomSet<T> other) {
+        return union(other, false);
+    }
+
+    public CustomSet<T> union(CustomSet<T> other, boolean parallel) {
+        checkOperand(other);
+        CustomSet<T> larger = size >= other.size ? this : other;
+        CustomSet<T> smaller = larger == this ? other : this;
+        CustomSet<T> res = newResult((long) size + other.size, parallel, larger, smaller);
+        res.size = res.scatter(larger, (e, hash) -> true, parallel)
+                + res.scatter(smaller, (e, hash) -> !larger.containsHashed(hash, e), parallel);
+        return res;
+    }
+
+    public CustomSet<T> intersect(CustomSet<T> other) {
+        return intersect(other, false);
+    }
+
+    public CustomSet<T> intersect(CustomSet<T> other, boolean parallel) {
+        checkOperand(other);
+        CustomSet<T> larger = size >= other.size ? this : other;
+        CustomSet<T> smaller = larger == this ? other : this;
+        CustomSet<T> res = newResult(smaller.size, parallel, smaller, smaller);
+        res.size = res.scatter(smaller, (e, hash) -> larger.containsHashed(hash, e), parallel);
+        return res;
+    }
+
+    public CustomSet<T> difference(CustomSet<T> other) {
+        return difference(other, false);
+    }
+
+    public CustomSet<T> difference(CustomSet<T> other, boolean parallel) {
+        checkOperand(other);
+        CustomSet<T> res = newResult(size, parallel, this, this);
+        res.size = res.scatter(this, (e, hash) -> !other.containsHashed(hash, e), parallel);
+        return res;
+    }
+
+    public CustomSet<T> symmetricDifference(CustomSet<T> other) {
+        return symmetricDifference(other, false);
+    }
+
+    public CustomSet<T> symmetricDifference(CustomSet<T> other, boolean parallel) {
+        checkOperand(other);
+        CustomSet<T> res = newResult((long) size + other.size, parallel, this, other);
+        res.size = res.scatter(this, (e, hash) -> !other.containsHashed(hash, e), parallel)
+                + res.scatter(other, (e, hash) -> !this.containsHashed(hash, e), parallel);
+        return res;
+    }
+
+    private static void checkOperand(CustomSet<?> other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Wrong set");
+        }
+    }
+
+    // parallel scatter needs the result table to be at least as long as every source table
+    private CustomSet<T> newResult(long expectedSize, boolean parallel, CustomSet<T> first, CustomSet<T> second) {
+        int resultCapacity = HashUtils.tableSizeFor(expectedSize, loadFactor);
+        if (parallel) {
+            resultCapacity = Math.max(resultCapacity, Math.max(first.table.length, second.table.length));
+        }
+        return new CustomSet<>(resultCapacity, loadFactor, incrementalResize);
+    }
+
+    // each source bucket maps onto its own residue class of result buckets, so parallel writers never collide
+    private int scatter(CustomSet<T> source, HashedPredicate<T> keep, boolean parallel) {
+        if (parallel && source.oldTable == null && source.table.length <= table.length) {
+            Collection<T>[] sourceTable = source.table;
+            return IntStream.range(0, sourceTable.length).parallel().map(i -> scatterBucket(sourceTable[i], keep)).sum();
+        }
+        int count = 0;
+        for (Collection<T> bucket : source.table) {
+            count += scatterBucket(bucket, keep);
+        }
+        if (source.oldTable != null) {
+            for (Collection<T> bucket : source.oldTable) {
+                count += scatterBucket(bucket, keep);
+            }
+        }
+        return count;
+    }
+
+    private int scatterBucket(Collection<T> bucket, HashedPredicate<T> keep) {
+        if (bucket == null) {
+            return 0;
+        }
+        int count = 0;
+        for (T e : bucket) {
+            int hash = HashUtils.hash(e);
+            if (keep.test(e, hash)) {
+                insertIntoBucket(hash & (table.length - 1), e);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void replaceWith(CustomSet<T> other) {
+        this.size = other.size;
+        this.capacity = other.capacity;
+        this.table = other.table;
+        this.oldTable = other.oldTable;
+        this.migrationIndex = other.migrationIndex;
+        rebuildBloomFilter();
+    }
+
     @Override
     public Object[] toArray() {
         Object[] res = new Object[size];
         int index = 0;
-        for (List<T> bucket : table) {
-            if (bucket == null || bucket.isEmpty()) {
-                continue;
-            }
-            for (Object elem : bucket) {
-                res[index] = elem;
-                index++;
-            }
+        Iterator<T> it = iterator();
+        while (it.hasNext()) {
+            res[index] = it.next();
+            index++;
         }
         return res;
     }
 
     @Override
     public boolean add(T e) {
-        if (contains(e)) {
+        if ((bloomFilter == null || bloomFilter.probe(e)) && containsHashed(HashUtils.hash(e), e)) {
             return false;
         }
-        if (capacity * loadFactor < size) {
+        migrateBuckets(MIGRATION_STEP);
+        if (size >= capacity * loadFactor && capacity < HashUtils.MAXIMUM_CAPACITY) {
             redistributeElements();
         }
-        int index = getHashedIndex(e);
+        insertIntoTable(e);
+        size++;
+        if (bloomFilter != null) {
+            bloomFilter.put(e);
+        }
+        return true;
+    }
+
+    private void insertIntoTable(T e) {
+        insertIntoBucket(getHashedIndex(e), e);
+    }
+
+    private void insertIntoBucket(int index, T e) {
         if (table[index] == null) {
             table[index] = new LinkedList<>();
         }
         table[index].add(e);
-        size++;
-        return true;
+        if (table[index].size() > TREEIFY_THRESHOLD && !(table[index] instanceof TreeBucket)) {
+            table[index] = new TreeBucket<>(table[index]);
+        }
     }
 
     @SuppressWarnings("unchecked")
     private void redistributeElements() {
-        capacity += 16;
-        LinkedList<T>[] temp = new LinkedList[capacity];
-        for (List<T> bucket : table) {
-            if (bucket == null) {
-                continue;
-            }
-            for (T elem : bucket) {
-                int index = getHashedIndex(elem);
-                if (temp[index] == null) {
-                    temp[index] = new LinkedList<>();
+        if (oldTable != null) {
+            migrateBuckets(oldTable.length);
+        }
+        Collection<T>[] previous = table;
+        capacity <<= 1;
+        table = new Collection[capacity];
+        if (incrementalResize) {
+            oldTable = previous;
+            migrationIndex = 0;
+        } else {
+            for (Collection<T> bucket : previous) {
+                if (bucket != null) {
+                    bucket.forEach(this::insertIntoTable);
                 }
-                temp[index].add(elem);
             }
         }
-        table = temp;
+        rebuildBloomFilter();
+    }
+
+    private void migrateBuckets(int count) {
+        if (oldTable == null) {
+            return;
+        }
+        int end = Math.min(migrationIndex + count, oldTable.length);
+        for (; migrationIndex < end; migrationIndex++) {
+            Collection<T> bucket = oldTable[migrationIndex];
+            if (bucket != null) {
+                bucket.forEach(this::insertIntoTable);
+                oldTable[migrationIndex] = null;
+            }
+        }
+        if (migrationIndex == oldTable.length) {
+            oldTable = null;
+        }
     }
 
     private int getHashedIndex(Object e) {
-        int hash = e.hashCode();
-        return Math.abs(hash) % capacity;
+        return HashUtils.hash(e) & (capacity - 1);
     }
 
     @Override
     public boolean remove(Object o) {
-        if (!contains(o)) {
+        int hash = HashUtils.hash(o);
+        if (!removeFromTable(table, hash, o) && (oldTable == null || !removeFromTable(oldTable, hash, o))) {
             return false;
         }
-        int index = getHashedIndex(o);
-        table[index].remove(o);
         --size;
+        migrateBuckets(MIGRATION_STEP);
+        if (bloomFilter != null && ++removalsSinceRebuild > expectedInsertions() / 4) {
+            rebuildBloomFilter();
+        }
+        return true;
+    }
+
+    private boolean removeFromTable(Collection<T>[] tab, int hash, Object o) {
+        int index = hash & (tab.length - 1);
+        Collection<T> bucket = tab[index];
+        if (bucket == null || !bucket.remove(o)) {
+            return false;
+        }
+        if (bucket instanceof TreeBucket && bucket.size() <= UNTREEIFY_THRESHOLD) {
+            tab[index] = new LinkedList<>(bucket);
+        }
         return true;
     }
 
@@ -222,9 +430,12 @@ public class CustomSet<T> implements ICollection<T> {
         }
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public void clear() {
-        table = new LinkedList[capacity];
+        table = new Collection[capacity];
+        oldTable = null;
         size = 0;
+        rebuildBloomFilter();
     }
 }
@@ -0,0 +1,283 @@
+package collection_domain.set_domain;
+
+import collection_domain.HashUtils;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+public class IntHashSet {
+    private final static int DEFAULT_CAPACITY = 16;
+    private final static double DEFAULT_LOAD_FACTOR = 0.75;
+    private final static int EMPTY = 0;
+    private int[] table;
+    private boolean hasEmptyKey;
+    private int size;
+    private int threshold;
+    private final double loadFactor;
+
+    public IntHashSet(int capacity, double loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("Wrong load factor");
+        }
+        this.loadFactor = loadFactor;
+        allocateTable(HashUtils.tableSizeFor(capacity));
+    }
+
+    public IntHashSet(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntHashSet() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public static IntHashSet withExpectedSize(int expectedSize) {
+        return new IntHashSet(HashUtils.tableSizeFor(expectedSize, DEFAULT_LOAD_FACTOR), DEFAULT_LOAD_FACTOR);
+    }
+
+    private void allocateTable(int capacity) {
+        table = new int[capacity];
+        threshold = (int) Math.min(capacity * loadFactor, capacity - 1);
+    }
+
+    private int getHashedIndex(int value) {
+        return HashUtils.spread(value) & (table.length - 1);
+    }
+
+    private int findSlot(int value) {
+        int mask = table.length - 1;
+        for (int i = getHashedIndex(value); ; i = (i + 1) & mask) {
+            int cur = table[i];
+            if (cur == EMPTY) {
+                return -(i + 1);
+            }
+            if (cur == value) {
+                return i;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int value) {
+        if (value == EMPTY) {
+            return hasEmptyKey;
+        }
+        return findSlot(value) >= 0;
+    }
+
+    public boolean add(int value) {
+        if (value == EMPTY) {
+            if (hasEmptyKey) {
+                return false;
+            }
+            hasEmptyKey = true;
+            size++;
+            return true;
+        }
+        int slot = findSlot(value);
+        if (slot >= 0) {
+            return false;
+        }
+        if (size >= threshold) {
+            if (table.length >= HashUtils.MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("Set is too large");
+            }
+            redistributeElements(table.length << 1);
+            slot = findSlot(value);
+        }
+        table[-slot - 1] = value;
+        size++;
+        return true;
+    }
+
+    private void redistributeElements(int newCapacity) {
+        int[] oldTable = table;
+        allocateTable(newCapacity);
+        for (int value : oldTable) {
+            if (value != EMPTY) {
+                insert(value);
+            }
+        }
+    }
+
+    private void insert(int value) {
+        int mask = table.length - 1;
+        int i = getHashedIndex(value);
+        while (table[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        table[i] = value;
+    }
+
+    public boolean remove(int value) {
+        if (value == EMPTY) {
+            if (!hasEmptyKey) {
+                return false;
+            }
+            hasEmptyKey = false;
+            size--;
+            return true;
+        }
+        int slot = findSlot(value);
+        if (slot < 0) {
+            return false;
+        }
+        int mask = table.length - 1;
+        int hole = slot;
+        for (int i = (slot + 1) & mask; table[i] != EMPTY; i = (i + 1) & mask) {
+            int ideal = getHashedIndex(table[i]);
+            if (((i - ideal) & mask) >= ((i - hole) & mask)) {
+                table[hole] = table[i];
+                hole = i;
+            }
+        }
+        table[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    public int[] toArray() {
+        int[] res = new int[size];
+        int index = 0;
+        if (hasEmptyKey) {
+            res[index++] = EMPTY;
+        }
+        for (int value : table) {
+            if (value != EMPTY) {
+                res[index++] = value;
+            }
+        }
+        return res;
+    }
+
+    public void forEach(IntConsumer action) {
+        if (hasEmptyKey) {
+            action.accept(EMPTY);
+        }
+        for (int value : table) {
+            if (value != EMPTY) {
+                action.accept(value);
+            }
+        }
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            boolean emptyKeyPending = hasEmptyKey;
+            int tableIndex = nextIndex(0);
+
+            private int nextIndex(int from) {
+                while (from < table.length && table[from] == EMPTY) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return emptyKeyPending || tableIndex < table.length;
+            }
+
+            @Override
+            public int nextInt() {
+                if (emptyKeyPending) {
+                    emptyKeyPending = false;
+                    return EMPTY;
+                }
+                if (tableIndex >= table.length) {
+                    throw new NoSuchElementException();
+                }
+                int res = table[tableIndex];
+                tableIndex = nextIndex(tableIndex + 1);
+                return res;
+            }
+        };
+    }
+
+    public boolean addAll(int... values) {
+        boolean flag = true;
+        for (int value : values) {
+            if (!add(value)) {
+                flag = false;
+            }
+        }
+        return flag;
+    }
+
+    public boolean containsAll(int... values) {
+        for (int value : values) {
+            if (!contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean removeAll(int... values) {
+        boolean flag = true;
+        for (int value : values) {
+            if (!remove(value)) {
+                flag = false;
+            }
+        }
+        return flag;
+    }
+
+    public boolean retainAll(IntHashSet other) {
+        if (other == null) {
+            return false;
+        }
+        return removeIf(value -> !other.contains(value));
+    }
+
+    // the predicate runs against the intact table and nothing changes until every value is tested
+    public boolean removeIf(IntPredicate predicate) {
+        if (predicate == null) {
+            return false;
+        }
+        boolean removeEmptyKey = hasEmptyKey && predicate.test(EMPTY);
+        boolean[] removed = new boolean[table.length];
+        boolean any = removeEmptyKey;
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != EMPTY && predicate.test(table[i])) {
+                removed[i] = true;
+                any = true;
+            }
+        }
+        if (!any) {
+            return false;
+        }
+        if (removeEmptyKey) {
+            hasEmptyKey = false;
+            size--;
+        }
+        int[] oldTable = table;
+        allocateTable(oldTable.length);
+        for (int i = 0; i < oldTable.length; i++) {
+            if (oldTable[i] == EMPTY) {
+                continue;
+            }
+            if (removed[i]) {
+                size--;
+            } else {
+                insert(oldTable[i]);
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        allocateTable(table.length);
+        hasEmptyKey = false;
+        size = 0;
+    }
+}
@@ -0,0 +1,340 @@
+package collection_domain.set_domain;
+
+import collection_domain.HashUtils;
+import collection_domain.ICollection;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+public class LinkedCustomSet<T> implements ICollection<T> {
+    private final static int DEFAULT_CAPACITY = 16;
+    private final static int NIL = -1;
+    private final boolean accessOrder;
+    // entries are stored densely and threaded through before/after; index maps hash slots to entry + 1
+    private Object[] elements;
+    private int[] hashes;
+    private int[] before;
+    private int[] after;
+    private int[] index;
+    private int head = NIL;
+    private int tail = NIL;
+    private int freeList = NIL;
+    private int used;
+    private int size;
+
+    public LinkedCustomSet(int capacity, boolean accessOrder) {
+        this.accessOrder = accessOrder;
+        allocate(HashUtils.tableSizeFor(Math.max(capacity, 2)));
+    }
+
+    public LinkedCustomSet(int capacity) {
+        this(capacity, false);
+    }
+
+    public LinkedCustomSet() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    private void allocate(int capacity) {
+        elements = new Object[capacity];
+        hashes = new int[capacity];
+        before = new int[capacity];
+        after = new int[capacity];
+        index = new int[capacity << 1];
+        head = NIL;
+        tail = NIL;
+        freeList = NIL;
+        used = 0;
+    }
+
+    private int findSlot(Object o, int hash) {
+        int mask = index.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int entry = index[i] - 1;
+            if (entry < 0) {
+                return -(i + 1);
+            }
+            if (hashes[entry] == hash && elements[entry].equals(o)) {
+                return i;
+            }
+        }
+    }
+
+    private void deleteSlot(int slot) {
+        int mask = index.length - 1;
+        int hole = slot;
+        for (int i = (slot + 1) & mask; index[i] != 0; i = (i + 1) & mask) {
+            int ideal = hashes[index[i] - 1] & mask;
+            if (((i - ideal) & mask) >= ((i - hole) & mask)) {
+                index[hole] = index[i];
+                hole = i;
+            }
+        }
+        index[hole] = 0;
+    }
+
+    private int newEntry(T e, int hash) {
+        int entry;
+        if (freeList != NIL) {
+            entry = freeList;
+            freeList = after[entry];
+        } else {
+            entry = used++;
+        }
+        elements[entry] = e;
+        hashes[entry] = hash;
+        linkLast(entry);
+        return entry;
+    }
+
+    private void linkLast(int entry) {
+        before[entry] = tail;
+        after[entry] = NIL;
+        if (tail == NIL) {
+            head = entry;
+        } else {
+            after[tail] = entry;
+        }
+        tail = entry;
+    }
+
+    private void unlink(int entry) {
+        if (before[entry] == NIL) {
+            head = after[entry];
+        } else {
+            after[before[entry]] = after[entry];
+        }
+        if (after[entry] == NIL) {
+            tail = before[entry];
+        } else {
+            before[after[entry]] = before[entry];
+        }
+    }
+
+    private void moveToTail(int entry) {
+        if (entry != tail) {
+            unlink(entry);
+            linkLast(entry);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize(int capacity) {
+        Object[] oldElements = elements;
+        int[] oldHashes = hashes;
+        int[] oldAfter = after;
+        int oldHead = head;
+        allocate(capacity);
+        int mask = index.length - 1;
+        for (int entry = oldHead; entry != NIL; entry = oldAfter[entry]) {
+            int newEntry = newEntry((T) oldElements[entry], oldHashes[entry]);
+            int i = oldHashes[entry] & mask;
+            while (index[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            index[i] = newEntry + 1;
+        }
+    }
+
+    private void removeEntry(int slot, int entry) {
+        deleteSlot(slot);
+        unlink(entry);
+        elements[entry] = null;
+        after[entry] = freeList;
+        freeList = entry;
+        size--;
+    }
+
+    public boolean isAccessOrder() {
+        return accessOrder;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T eldest() {
+        return head == NIL ? null : (T) elements[head];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T removeEldest() {
+        if (head == NIL) {
+            return null;
+        }
+        int entry = head;
+        T res = (T) elements[entry];
+        removeEntry(findSlot(res, hashes[entry]), entry);
+        return res;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        int slot = findSlot(o, HashUtils.hash(o));
+        if (slot < 0) {
+            return false;
+        }
+        if (accessOrder) {
+            moveToTail(index[slot] - 1);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean add(T e) {
+        if (e == null) {
+            return false;
+        }
+        int hash = HashUtils.hash(e);
+        int slot = findSlot(e, hash);
+        if (slot >= 0) {
+            if (accessOrder) {
+                moveToTail(index[slot] - 1);
+            }
+            return false;
+        }
+        if (size == elements.length) {
+            if (elements.length >= HashUtils.MAXIMUM_CAPACITY >> 1) {
+                throw new IllegalStateException("Set is too large");
+            }
+            resize(elements.length << 1);
+            slot = findSlot(e, hash);
+        }
+        index[-slot - 1] = newEntry(e, hash) + 1;
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        int slot = findSlot(o, HashUtils.hash(o));
+        if (slot < 0) {
+            return false;
+        }
+        removeEntry(slot, index[slot] - 1);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean removeIf(Predicate<T> predicate) {
+        if (predicate == null) {
+            return false;
+        }
+        int oldSize = size;
+        for (int entry = head; entry != NIL; ) {
+            int next = after[entry];
+            T e = (T) elements[entry];
+            if (predicate.test(e)) {
+                removeEntry(findSlot(e, hashes[entry]), entry);
+            }
+            entry = next;
+        }
+        return oldSize != size;
+    }
+
+    @Override
+    public boolean retainAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        removeIf(e -> !c.contains(e));
+        return true;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] res = new Object[size];
+        int i = 0;
+        for (int entry = head; entry != NIL; entry = after[entry]) {
+            res[i++] = elements[entry];
+        }
+        return res;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            int entry = head;
+
+            @Override
+            public boolean hasNext() {
+                return entry != NIL;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T res = (T) elements[entry];
+                entry = after[entry];
+                return res;
+            }
+        };
+    }
+
+    @Override
+    public boolean containsAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        return c.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public boolean addAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!add(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public boolean removeAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!remove(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, null);
+        Arrays.fill(index, 0);
+        head = NIL;
+        tail = NIL;
+        freeList = NIL;
+        used = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,599 @@
+package collection_domain.set_domain;
+
+import collection_domain.HashUtils;
+import collection_domain.ICollection;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+public class OffHeapStringSet implements ICollection<String>, AutoCloseable {
+    private final static int DEFAULT_CAPACITY = 16;
+    private final static double LOAD_FACTOR = 0.75;
+    private final static int ARENA_SHIFT = 20;
+    private final static int ARENA_SIZE = 1 << ARENA_SHIFT;
+    private final static int PAGE_SHIFT = 16;
+    private final static int PAGE_SLOTS = 1 << PAGE_SHIFT;
+    // each index slot holds the entry reference (arena << ARENA_SHIFT | offset, plus one) and the cached hash
+    private final static int SLOT_BYTES = Long.BYTES + Integer.BYTES;
+    private final static Object UNSAFE;
+    private final static Method INVOKE_CLEANER;
+    private List<ByteBuffer> arenas = new ArrayList<>();
+    private int arenaOffset;
+    private ByteBuffer[] pages;
+    private int capacity;
+    private int size;
+    private int threshold;
+    private long liveBytes;
+    private long wastedBytes;
+    private ByteBuffer scratch = ByteBuffer.allocate(64);
+    private boolean closed;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    public OffHeapStringSet(int capacity) {
+        allocateIndex(HashUtils.tableSizeFor(Math.max(capacity, 2)));
+    }
+
+    public OffHeapStringSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public static OffHeapStringSet withExpectedSize(long expectedSize) {
+        return new OffHeapStringSet(HashUtils.tableSizeFor(expectedSize, LOAD_FACTOR));
+    }
+
+    private void allocateIndex(int capacity) {
+        int pageSlots = Math.min(capacity, PAGE_SLOTS);
+        pages = new ByteBuffer[capacity / pageSlots];
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = ByteBuffer.allocateDirect(pageSlots * SLOT_BYTES).order(ByteOrder.nativeOrder());
+        }
+        this.capacity = capacity;
+        threshold = (int) Math.min(capacity * LOAD_FACTOR, capacity - 1);
+    }
+
+    private void releaseIndex() {
+        for (ByteBuffer page : pages) {
+            if (page != null) {
+                free(page);
+            }
+        }
+        pages = null;
+    }
+
+    private void releaseArenas() {
+        for (ByteBuffer arena : arenas) {
+            free(arena);
+        }
+        arenas = new ArrayList<>();
+        arenaOffset = 0;
+        liveBytes = 0;
+        wastedBytes = 0;
+    }
+
+    private static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Set is closed");
+        }
+    }
+
+    private ByteBuffer pageOf(int slot) {
+        return pages[slot >>> PAGE_SHIFT];
+    }
+
+    private static int offsetOf(int slot) {
+        return (slot & (PAGE_SLOTS - 1)) * SLOT_BYTES;
+    }
+
+    private long refAt(int slot) {
+        return pageOf(slot).getLong(offsetOf(slot));
+    }
+
+    private int hashAt(int slot) {
+        return pageOf(slot).getInt(offsetOf(slot) + Long.BYTES);
+    }
+
+    private void setSlot(int slot, long ref, int hash) {
+        ByteBuffer page = pageOf(slot);
+        int offset = offsetOf(slot);
+        page.putLong(offset, ref);
+        page.putInt(offset + Long.BYTES, hash);
+    }
+
+    private ByteBuffer arenaOf(long ref) {
+        return arenas.get((int) ((ref - 1) >>> ARENA_SHIFT));
+    }
+
+    private static int arenaOffsetOf(long ref) {
+        return (int) ((ref - 1) & (ARENA_SIZE - 1));
+    }
+
+    private static int hash(ByteBuffer key) {
+        int h = 0;
+        for (int i = key.position(); i < key.limit(); i++) {
+            h = 31 * h + key.get(i);
+        }
+        return HashUtils.spread(h);
+    }
+
+    private boolean keyEquals(long ref, ByteBuffer key) {
+        ByteBuffer arena = arenaOf(ref);
+        int offset = arenaOffsetOf(ref);
+        int length = arena.getInt(offset);
+        if (length != key.remaining()) {
+            return false;
+        }
+        offset += Integer.BYTES;
+        int from = key.position();
+        for (int i = 0; i < length; i++) {
+            if (arena.get(offset + i) != key.get(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int findSlot(ByteBuffer key, int hash) {
+        int mask = capacity - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            long ref = refAt(i);
+            if (ref == 0) {
+                return -(i + 1);
+            }
+            if (hashAt(i) == hash && keyEquals(ref, key)) {
+                return i;
+            }
+        }
+    }
+
+    private long append(ByteBuffer key) {
+        int length = key.remaining();
+        if (length > ARENA_SIZE - Integer.BYTES) {
+            throw new IllegalArgumentException("Wrong key length");
+        }
+        if (arenas.isEmpty() || arenaOffset + Integer.BYTES + length > ARENA_SIZE) {
+            arenas.add(ByteBuffer.allocateDirect(ARENA_SIZE));
+            arenaOffset = 0;
+        }
+        ByteBuffer writer = arenas.get(arenas.size() - 1).duplicate();
+        writer.putInt(arenaOffset, length);
+        writer.position(arenaOffset + Integer.BYTES);
+        int from = key.position();
+        writer.put(key);
+        key.position(from);
+        long ref = ((long) (arenas.size() - 1) << ARENA_SHIFT | arenaOffset) + 1;
+        arenaOffset += Integer.BYTES + length;
+        liveBytes += Integer.BYTES + length;
+        return ref;
+    }
+
+    private ByteBuffer encode(CharSequence chars) {
+        int maxLength = chars.length() * 3;
+        if (scratch.capacity() < maxLength) {
+            scratch = ByteBuffer.allocate(Math.max(maxLength, scratch.capacity() << 1));
+        }
+        scratch.clear();
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            if (c < 0x80) {
+                scratch.put((byte) c);
+            } else if (c < 0x800) {
+                scratch.put((byte) (0xC0 | c >> 6));
+                scratch.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars.length() && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+                scratch.put((byte) (0xF0 | codePoint >> 18));
+                scratch.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                scratch.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                scratch.put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                scratch.put((byte) '?');
+            } else {
+                scratch.put((byte) (0xE0 | c >> 12));
+                scratch.put((byte) (0x80 | c >> 6 & 0x3F));
+                scratch.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        scratch.flip();
+        return scratch;
+    }
+
+    private String decode(long ref) {
+        return decode(arenaOf(ref), arenaOffsetOf(ref));
+    }
+
+    private static String decode(ByteBuffer arena, int offset) {
+        ByteBuffer reader = arena.duplicate();
+        byte[] bytes = new byte[reader.getInt(offset)];
+        reader.position(offset + Integer.BYTES);
+        reader.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean addKey(ByteBuffer key) {
+        checkOpen();
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        if (slot >= 0) {
+            return false;
+        }
+        if (size >= threshold) {
+            if (capacity >= HashUtils.MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("Set is too large");
+            }
+            rebuild(capacity << 1, null);
+            slot = findSlot(key, hash);
+        }
+        setSlot(-slot - 1, append(key), hash);
+        size++;
+        return true;
+    }
+
+    private boolean containsKey(ByteBuffer key) {
+        checkOpen();
+        return findSlot(key, hash(key)) >= 0;
+    }
+
+    private boolean removeKey(ByteBuffer key) {
+        checkOpen();
+        int slot = findSlot(key, hash(key));
+        if (slot < 0) {
+            return false;
+        }
+        long ref = refAt(slot);
+        int bytes = Integer.BYTES + arenaOf(ref).getInt(arenaOffsetOf(ref));
+        liveBytes -= bytes;
+        wastedBytes += bytes;
+        deleteSlot(slot);
+        --size;
+        if (wastedBytes > ARENA_SIZE && wastedBytes > liveBytes) {
+            rebuild(capacity, null);
+        }
+        return true;
+    }
+
+    private void deleteSlot(int slot) {
+        int mask = capacity - 1;
+        int hole = slot;
+        for (int i = (slot + 1) & mask; refAt(i) != 0; i = (i + 1) & mask) {
+            int hash = hashAt(i);
+            int ideal = hash & mask;
+            if (((i - ideal) & mask) >= ((i - hole) & mask)) {
+                setSlot(hole, refAt(i), hash);
+                hole = i;
+            }
+        }
+        setSlot(hole, 0, 0);
+    }
+
+    // on failure the new buffers are released and the old index and arenas stay in place
+    private void rebuild(int newCapacity, boolean[] removed) {
+        ByteBuffer[] oldPages = pages;
+        int oldCapacity = capacity;
+        int oldThreshold = threshold;
+        int oldSize = size;
+        List<ByteBuffer> oldArenas = arenas;
+        int oldArenaOffset = arenaOffset;
+        long oldLiveBytes = liveBytes;
+        long oldWastedBytes = wastedBytes;
+        boolean compact = removed != null || wastedBytes > liveBytes;
+        if (compact) {
+            arenas = new ArrayList<>();
+            arenaOffset = 0;
+            liveBytes = 0;
+            wastedBytes = 0;
+        }
+        try {
+            allocateIndex(newCapacity);
+            int mask = newCapacity - 1;
+            size = 0;
+            for (int slot = 0; slot < oldCapacity; slot++) {
+                ByteBuffer page = oldPages[slot >>> PAGE_SHIFT];
+                long ref = page.getLong(offsetOf(slot));
+                if (ref == 0 || removed != null && removed[slot]) {
+                    continue;
+                }
+                int hash = page.getInt(offsetOf(slot) + Long.BYTES);
+                if (compact) {
+                    ByteBuffer arena = oldArenas.get((int) ((ref - 1) >>> ARENA_SHIFT));
+                    ByteBuffer key = arena.duplicate();
+                    int offset = arenaOffsetOf(ref) + Integer.BYTES;
+                    key.limit(offset + arena.getInt(offset - Integer.BYTES)).position(offset);
+                    ref = append(key);
+                }
+                int i = hash & mask;
+                while (refAt(i) != 0) {
+                    i = (i + 1) & mask;
+                }
+                setSlot(i, ref, hash);
+                size++;
+            }
+        } catch (Throwable e) {
+            if (pages != oldPages) {
+                releaseIndex();
+            }
+            if (compact) {
+                releaseArenas();
+            }
+            pages = oldPages;
+            capacity = oldCapacity;
+            threshold = oldThreshold;
+            size = oldSize;
+            arenas = oldArenas;
+            arenaOffset = oldArenaOffset;
+            liveBytes = oldLiveBytes;
+            wastedBytes = oldWastedBytes;
+            throw e;
+        }
+        for (ByteBuffer page : oldPages) {
+            free(page);
+        }
+        if (compact) {
+            for (ByteBuffer arena : oldArenas) {
+                free(arena);
+            }
+        }
+    }
+
+    public boolean add(byte[] utf8) {
+        if (utf8 == null) {
+            return false;
+        }
+        return addKey(ByteBuffer.wrap(utf8));
+    }
+
+    public boolean add(ByteBuffer utf8) {
+        if (utf8 == null) {
+            return false;
+        }
+        return addKey(utf8.duplicate());
+    }
+
+    public boolean add(CharSequence chars) {
+        if (chars == null) {
+            return false;
+        }
+        return addKey(encode(chars));
+    }
+
+    @Override
+    public boolean add(String obj) {
+        return add((CharSequence) obj);
+    }
+
+    public boolean contains(byte[] utf8) {
+        if (utf8 == null) {
+            return false;
+        }
+        return containsKey(ByteBuffer.wrap(utf8));
+    }
+
+    public boolean contains(ByteBuffer utf8) {
+        if (utf8 == null) {
+            return false;
+        }
+        return containsKey(utf8.duplicate());
+    }
+
+    public boolean contains(CharSequence chars) {
+        if (chars == null) {
+            return false;
+        }
+        return containsKey(encode(chars));
+    }
+
+    @Override
+    public boolean contains(String obj) {
+        return contains((CharSequence) obj);
+    }
+
+    public boolean remove(byte[] utf8) {
+        if (utf8 == null) {
+            return false;
+        }
+        return removeKey(ByteBuffer.wrap(utf8));
+    }
+
+    public boolean remove(ByteBuffer utf8) {
+        if (utf8 == null) {
+            return false;
+        }
+        return removeKey(utf8.duplicate());
+    }
+
+    public boolean remove(CharSequence chars) {
+        if (chars == null) {
+            return false;
+        }
+        return removeKey(encode(chars));
+    }
+
+    @Override
+    public boolean remove(String obj) {
+        return remove((CharSequence) obj);
+    }
+
+    public long getOffHeapBytes() {
+        return (long) arenas.size() * ARENA_SIZE + (long) capacity * SLOT_BYTES;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        checkOpen();
+        Object[] res = new Object[size];
+        int index = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            long ref = refAt(slot);
+            if (ref != 0) {
+                res[index++] = decode(ref);
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        checkOpen();
+        return new Iterator<>() {
+            int slot = nextSlot(0);
+
+            private int nextSlot(int from) {
+                while (from < capacity && refAt(from) == 0) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < capacity;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                checkOpen();
+                String res = decode(refAt(slot));
+                slot = nextSlot(slot + 1);
+                return res;
+            }
+        };
+    }
+
+    // every key is tested against the intact index before anything is copied or freed
+    @Override
+    public boolean removeIf(Predicate<String> predicate) {
+        if (predicate == null) {
+            return false;
+        }
+        checkOpen();
+        boolean[] removed = new boolean[capacity];
+        boolean any = false;
+        for (int slot = 0; slot < capacity; slot++) {
+            long ref = refAt(slot);
+            if (ref != 0 && predicate.test(decode(ref))) {
+                removed[slot] = true;
+                any = true;
+            }
+        }
+        if (!any) {
+            return false;
+        }
+        rebuild(capacity, removed);
+        return true;
+    }
+
+    @Override
+    public boolean retainAll(Collection<String> c) {
+        if (c == null) {
+            return false;
+        }
+        removeIf(e -> !c.contains(e));
+        return true;
+    }
+
+    @Override
+    public boolean containsAll(Collection<String> c) {
+        if (c == null) {
+            return false;
+        }
+        return c.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public boolean addAll(Collection<String> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!add(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public boolean removeAll(Collection<String> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!remove(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public void clear() {
+        checkOpen();
+        int oldCapacity = capacity;
+        releaseIndex();
+        releaseArenas();
+        allocateIndex(oldCapacity);
+        size = 0;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        releaseIndex();
+        releaseArenas();
+        size = 0;
+        capacity = 0;
+    }
+}
@@ -0,0 +1,267 @@
+package collection_domain.set_domain;
+
+import collection_domain.HashUtils;
+import collection_domain.ICollection;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+public class OpenAddressingCustomSet<T> implements ICollection<T> {
+    private final static int DEFAULT_CAPACITY = 16;
+    private final static double DEFAULT_LOAD_FACTOR = 0.5;
+    private Object[] table;
+    private int size;
+    private int threshold;
+    private final double loadFactor;
+
+    public OpenAddressingCustomSet(int capacity, double loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("Wrong load factor");
+        }
+        this.loadFactor = loadFactor;
+        allocateTable(HashUtils.tableSizeFor(capacity));
+    }
+
+    public OpenAddressingCustomSet(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public OpenAddressingCustomSet() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    private void allocateTable(int capacity) {
+        table = new Object[capacity];
+        threshold = (int) Math.min(capacity * loadFactor, capacity - 1);
+    }
+
+    private int getHashedIndex(Object e) {
+        return HashUtils.hash(e) & (table.length - 1);
+    }
+
+    private int findSlot(Object o) {
+        int mask = table.length - 1;
+        for (int i = getHashedIndex(o); ; i = (i + 1) & mask) {
+            Object cur = table[i];
+            if (cur == null) {
+                return -(i + 1);
+            }
+            if (cur.equals(o)) {
+                return i;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        return findSlot(o) >= 0;
+    }
+
+    @Override
+    public boolean add(T e) {
+        if (e == null) {
+            return false;
+        }
+        int slot = findSlot(e);
+        if (slot >= 0) {
+            return false;
+        }
+        if (size >= threshold) {
+            if (table.length >= HashUtils.MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("Set is too large");
+            }
+            redistributeElements(table.length << 1);
+            slot = findSlot(e);
+        }
+        table[-slot - 1] = e;
+        size++;
+        return true;
+    }
+
+    private void redistributeElements(int newCapacity) {
+        Object[] oldTable = table;
+        allocateTable(newCapacity);
+        for (Object elem : oldTable) {
+            if (elem != null) {
+                insert(elem);
+            }
+        }
+    }
+
+    private void insert(Object elem) {
+        int mask = table.length - 1;
+        int i = getHashedIndex(elem);
+        while (table[i] != null) {
+            i = (i + 1) & mask;
+        }
+        table[i] = elem;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        int slot = findSlot(o);
+        if (slot < 0) {
+            return false;
+        }
+        deleteSlot(slot);
+        --size;
+        return true;
+    }
+
+    private void deleteSlot(int slot) {
+        int mask = table.length - 1;
+        int hole = slot;
+        for (int i = (slot + 1) & mask; table[i] != null; i = (i + 1) & mask) {
+            int ideal = getHashedIndex(table[i]);
+            if (((i - ideal) & mask) >= ((i - hole) & mask)) {
+                table[hole] = table[i];
+                hole = i;
+            }
+        }
+        table[hole] = null;
+    }
+
+    // the predicate runs against the intact table and nothing changes until every element is tested
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean removeIf(Predicate<T> predicate) {
+        if (predicate == null) {
+            return false;
+        }
+        boolean[] removed = new boolean[table.length];
+        boolean any = false;
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != null && predicate.test((T) table[i])) {
+                removed[i] = true;
+                any = true;
+            }
+        }
+        if (!any) {
+            return false;
+        }
+        Object[] oldTable = table;
+        allocateTable(oldTable.length);
+        for (int i = 0; i < oldTable.length; i++) {
+            if (oldTable[i] == null) {
+                continue;
+            }
+            if (removed[i]) {
+                size--;
+            } else {
+                insert(oldTable[i]);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean retainAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        removeIf(e -> !c.contains(e));
+        return true;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] res = new Object[size];
+        int index = 0;
+        for (Object elem : table) {
+            if (elem != null) {
+                res[index++] = elem;
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            int tableIndex = nextIndex(0);
+
+            private int nextIndex(int from) {
+                while (from < table.length && table[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return tableIndex < table.length;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T res = (T) table[tableIndex];
+                tableIndex = nextIndex(tableIndex + 1);
+                return res;
+            }
+        };
+    }
+
+    @Override
+    public boolean containsAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        return c.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public boolean addAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!add(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public boolean removeAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!remove(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public void clear() {
+        allocateTable(table.length);
+        size = 0;
+    }
+}
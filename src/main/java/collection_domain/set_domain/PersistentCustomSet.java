@@ -0,0 +1,518 @@
+package collection_domain.set_domain;
+
+import collection_domain.HashUtils;
+import collection_domain.ICollection;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+public class PersistentCustomSet<T> implements ICollection<T> {
+    private final static int BITS = 5;
+    private final static int MASK = (1 << BITS) - 1;
+    private final static int MAX_SHIFT = 30;
+    private final static int MAX_DEPTH = MAX_SHIFT / BITS + 2;
+    private final static PersistentCustomSet<?> EMPTY = new PersistentCustomSet<>(new BitmapNode(null, 0, 0, new Object[0]), 0);
+    private final Node root;
+    private final int size;
+
+    private static class Change {
+        boolean modified;
+    }
+
+    private abstract static class Node {
+        abstract boolean contains(Object o, int hash, int shift);
+
+        abstract Node updated(Object owner, Object e, int hash, int shift, Change change);
+
+        abstract Node removed(Object owner, Object o, int hash, int shift, Change change);
+
+        abstract int dataCount();
+
+        abstract Object data(int index);
+
+        abstract int nodeCount();
+
+        abstract Node node(int index);
+    }
+
+    // CHAMP layout: elements first in bit order, sub-nodes stored from the end of the same array
+    private static class BitmapNode extends Node {
+        private final Object owner;
+        private int dataMap;
+        private int nodeMap;
+        private Object[] content;
+
+        BitmapNode(Object owner, int dataMap, int nodeMap, Object[] content) {
+            this.owner = owner;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        private static int bitpos(int hash, int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private int dataIndex(int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        private int nodeIndex(int bit) {
+            return content.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        private boolean isEditable(Object owner) {
+            return owner != null && owner == this.owner;
+        }
+
+        private BitmapNode withContent(Object owner, int dataMap, int nodeMap, Object[] content) {
+            if (isEditable(owner)) {
+                this.dataMap = dataMap;
+                this.nodeMap = nodeMap;
+                this.content = content;
+                return this;
+            }
+            return new BitmapNode(owner, dataMap, nodeMap, content);
+        }
+
+        @Override
+        boolean contains(Object o, int hash, int shift) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                return content[dataIndex(bit)].equals(o);
+            }
+            if ((nodeMap & bit) != 0) {
+                return ((Node) content[nodeIndex(bit)]).contains(o, hash, shift + BITS);
+            }
+            return false;
+        }
+
+        @Override
+        Node updated(Object owner, Object e, int hash, int shift, Change change) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                Object current = content[index];
+                if (current.equals(e)) {
+                    return this;
+                }
+                change.modified = true;
+                Node sub = mergeTwo(owner, current, HashUtils.hash(current), e, hash, shift + BITS);
+                return migrateDataToNode(owner, bit, index, sub);
+            }
+            if ((nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node sub = (Node) content[index];
+                Node updatedSub = sub.updated(owner, e, hash, shift + BITS, change);
+                return change.modified ? setNode(owner, index, updatedSub) : this;
+            }
+            change.modified = true;
+            int index = dataIndex(bit);
+            Object[] res = new Object[content.length + 1];
+            System.arraycopy(content, 0, res, 0, index);
+            res[index] = e;
+            System.arraycopy(content, index, res, index + 1, content.length - index);
+            return withContent(owner, dataMap | bit, nodeMap, res);
+        }
+
+        @Override
+        Node removed(Object owner, Object o, int hash, int shift, Change change) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                if (!content[index].equals(o)) {
+                    return this;
+                }
+                change.modified = true;
+                Object[] res = new Object[content.length - 1];
+                System.arraycopy(content, 0, res, 0, index);
+                System.arraycopy(content, index + 1, res, index, content.length - index - 1);
+                return withContent(owner, dataMap ^ bit, nodeMap, res);
+            }
+            if ((nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node sub = (Node) content[index];
+                Node removedSub = sub.removed(owner, o, hash, shift + BITS, change);
+                if (!change.modified) {
+                    return this;
+                }
+                if (removedSub.nodeCount() == 0 && removedSub.dataCount() == 1) {
+                    return migrateNodeToData(owner, bit, index, removedSub.data(0));
+                }
+                return setNode(owner, index, removedSub);
+            }
+            return this;
+        }
+
+        private Node setNode(Object owner, int index, Node sub) {
+            if (isEditable(owner)) {
+                content[index] = sub;
+                return this;
+            }
+            Object[] res = content.clone();
+            res[index] = sub;
+            return new BitmapNode(owner, dataMap, nodeMap, res);
+        }
+
+        private Node migrateDataToNode(Object owner, int bit, int dataIndex, Node sub) {
+            int nodeIndex = content.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+            Object[] res = new Object[content.length];
+            System.arraycopy(content, 0, res, 0, dataIndex);
+            System.arraycopy(content, dataIndex + 1, res, dataIndex, nodeIndex - dataIndex);
+            res[nodeIndex] = sub;
+            System.arraycopy(content, nodeIndex + 1, res, nodeIndex + 1, content.length - nodeIndex - 1);
+            return withContent(owner, dataMap ^ bit, nodeMap | bit, res);
+        }
+
+        private Node migrateNodeToData(Object owner, int bit, int nodeIndex, Object e) {
+            int dataIndex = dataIndex(bit);
+            Object[] res = new Object[content.length];
+            System.arraycopy(content, 0, res, 0, dataIndex);
+            res[dataIndex] = e;
+            System.arraycopy(content, dataIndex, res, dataIndex + 1, nodeIndex - dataIndex);
+            System.arraycopy(content, nodeIndex + 1, res, nodeIndex + 1, content.length - nodeIndex - 1);
+            return withContent(owner, dataMap | bit, nodeMap ^ bit, res);
+        }
+
+        @Override
+        int dataCount() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        Object data(int index) {
+            return content[index];
+        }
+
+        @Override
+        int nodeCount() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        Node node(int index) {
+            return (Node) content[content.length - 1 - index];
+        }
+    }
+
+    // elements whose full 32-bit hashes are equal
+    private static class CollisionNode extends Node {
+        private final int hash;
+        private final Object[] elements;
+
+        CollisionNode(int hash, Object[] elements) {
+            this.hash = hash;
+            this.elements = elements;
+        }
+
+        private int indexOf(Object o) {
+            for (int i = 0; i < elements.length; i++) {
+                if (elements[i].equals(o)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        boolean contains(Object o, int hash, int shift) {
+            return this.hash == hash && indexOf(o) >= 0;
+        }
+
+        @Override
+        Node updated(Object owner, Object e, int hash, int shift, Change change) {
+            if (indexOf(e) >= 0) {
+                return this;
+            }
+            change.modified = true;
+            Object[] res = new Object[elements.length + 1];
+            System.arraycopy(elements, 0, res, 0, elements.length);
+            res[elements.length] = e;
+            return new CollisionNode(hash, res);
+        }
+
+        @Override
+        Node removed(Object owner, Object o, int hash, int shift, Change change) {
+            int index = indexOf(o);
+            if (index < 0) {
+                return this;
+            }
+            change.modified = true;
+            Object[] res = new Object[elements.length - 1];
+            System.arraycopy(elements, 0, res, 0, index);
+            System.arraycopy(elements, index + 1, res, index, elements.length - index - 1);
+            return new CollisionNode(hash, res);
+        }
+
+        @Override
+        int dataCount() {
+            return elements.length;
+        }
+
+        @Override
+        Object data(int index) {
+            return elements[index];
+        }
+
+        @Override
+        int nodeCount() {
+            return 0;
+        }
+
+        @Override
+        Node node(int index) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    private static Node mergeTwo(Object owner, Object e1, int hash1, Object e2, int hash2, int shift) {
+        if (shift > MAX_SHIFT) {
+            return new CollisionNode(hash1, new Object[]{e1, e2});
+        }
+        int mask1 = (hash1 >>> shift) & MASK;
+        int mask2 = (hash2 >>> shift) & MASK;
+        if (mask1 != mask2) {
+            Object[] content = mask1 < mask2 ? new Object[]{e1, e2} : new Object[]{e2, e1};
+            return new BitmapNode(owner, (1 << mask1) | (1 << mask2), 0, content);
+        }
+        Node sub = mergeTwo(owner, e1, hash1, e2, hash2, shift + BITS);
+        return new BitmapNode(owner, 0, 1 << mask1, new Object[]{sub});
+    }
+
+    private PersistentCustomSet(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentCustomSet<T> empty() {
+        return (PersistentCustomSet<T>) EMPTY;
+    }
+
+    public static <T> Builder<T> builder() {
+        return PersistentCustomSet.<T>empty().toBuilder();
+    }
+
+    public Builder<T> toBuilder() {
+        return new Builder<>(root, size);
+    }
+
+    public PersistentCustomSet<T> with(T e) {
+        if (e == null) {
+            return this;
+        }
+        Change change = new Change();
+        Node res = root.updated(null, e, HashUtils.hash(e), 0, change);
+        return change.modified ? new PersistentCustomSet<>(res, size + 1) : this;
+    }
+
+    public PersistentCustomSet<T> without(T e) {
+        if (e == null) {
+            return this;
+        }
+        Change change = new Change();
+        Node res = root.removed(null, e, HashUtils.hash(e), 0, change);
+        return change.modified ? new PersistentCustomSet<>(res, size - 1) : this;
+    }
+
+    public PersistentCustomSet<T> withAll(Collection<T> c) {
+        if (c == null) {
+            return this;
+        }
+        return toBuilder().addAll(c).build();
+    }
+
+    public PersistentCustomSet<T> withoutAll(Collection<T> c) {
+        if (c == null) {
+            return this;
+        }
+        Builder<T> builder = toBuilder();
+        c.forEach(builder::remove);
+        return builder.build();
+    }
+
+    public PersistentCustomSet<T> withoutIf(Predicate<T> predicate) {
+        if (predicate == null) {
+            return this;
+        }
+        Builder<T> builder = toBuilder();
+        for (T e : this) {
+            if (predicate.test(e)) {
+                builder.remove(e);
+            }
+        }
+        return builder.build();
+    }
+
+    public static class Builder<T> {
+        private Object owner = new Object();
+        private Node root;
+        private int size;
+
+        private Builder(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        public Builder<T> add(T e) {
+            if (e == null) {
+                return this;
+            }
+            Change change = new Change();
+            root = root.updated(owner, e, HashUtils.hash(e), 0, change);
+            if (change.modified) {
+                size++;
+            }
+            return this;
+        }
+
+        public Builder<T> addAll(Collection<T> c) {
+            c.forEach(this::add);
+            return this;
+        }
+
+        public Builder<T> remove(T e) {
+            if (e == null) {
+                return this;
+            }
+            Change change = new Change();
+            root = root.removed(owner, e, HashUtils.hash(e), 0, change);
+            if (change.modified) {
+                size--;
+            }
+            return this;
+        }
+
+        public boolean contains(T e) {
+            return e != null && root.contains(e, HashUtils.hash(e), 0);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // nodes edited so far now belong to the built set, later edits must copy them
+        public PersistentCustomSet<T> build() {
+            owner = new Object();
+            return new PersistentCustomSet<>(root, size);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(T obj) {
+        return obj != null && root.contains(obj, HashUtils.hash(obj), 0);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            final Node[] stack = new Node[MAX_DEPTH];
+            final int[] nodePositions = new int[MAX_DEPTH];
+            int depth = -1;
+            Node dataNode;
+            int dataPosition;
+
+            {
+                push(root);
+            }
+
+            private void push(Node node) {
+                stack[++depth] = node;
+                nodePositions[depth] = 0;
+                dataNode = node;
+                dataPosition = 0;
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (dataNode == null || dataPosition >= dataNode.dataCount()) {
+                    dataNode = null;
+                    if (depth < 0) {
+                        return false;
+                    }
+                    Node top = stack[depth];
+                    if (nodePositions[depth] < top.nodeCount()) {
+                        push(top.node(nodePositions[depth]++));
+                    } else {
+                        depth--;
+                    }
+                }
+                return true;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (T) dataNode.data(dataPosition++);
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] res = new Object[size];
+        int index = 0;
+        for (T e : this) {
+            res[index++] = e;
+        }
+        return res;
+    }
+
+    @Override
+    public boolean containsAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        return c.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public boolean add(T obj) {
+        throw new UnsupportedOperationException("Persistent set is immutable");
+    }
+
+    @Override
+    public boolean remove(T obj) {
+        throw new UnsupportedOperationException("Persistent set is immutable");
+    }
+
+    @Override
+    public boolean addAll(Collection<T> other) {
+        throw new UnsupportedOperationException("Persistent set is immutable");
+    }
+
+    @Override
+    public boolean removeIf(Predicate<T> predicate) {
+        throw new UnsupportedOperationException("Persistent set is immutable");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Persistent set is immutable");
+    }
+
+    @Override
+    public boolean retainAll(Collection<T> c) {
+        throw new UnsupportedOperationException("Persistent set is immutable");
+    }
+
+    @Override
+    public boolean removeAll(Collection<T> c) {
+        throw new UnsupportedOperationException("Persistent set is immutable");
+    }
+}
@@ -0,0 +1,409 @@
+package collection_domain.set_domain;
+
+import collection_domain.ICollection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+public class RadixTreeSet implements ICollection<String> {
+    private final static char[] NO_CHARS = new char[0];
+    private final static Node[] NO_NODES = new Node[0];
+    private Node root = new Node("");
+    private int size;
+
+    // every edge holds a whole run of characters, children are kept sorted by their first character
+    private static class Node {
+        String label;
+        boolean terminal;
+        // leaves share the empty arrays until they get a first child
+        char[] firstChars = NO_CHARS;
+        Node[] children = NO_NODES;
+        int childCount;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        int indexOf(char c) {
+            return Arrays.binarySearch(firstChars, 0, childCount, c);
+        }
+
+        Node child(char c) {
+            int index = indexOf(c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        void addChild(Node child) {
+            int index = -indexOf(child.label.charAt(0)) - 1;
+            if (childCount == children.length) {
+                int capacity = Math.max(2, childCount << 1);
+                firstChars = Arrays.copyOf(firstChars, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(firstChars, index, firstChars, index + 1, childCount - index);
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            firstChars[index] = child.label.charAt(0);
+            children[index] = child;
+            childCount++;
+        }
+
+        void replaceChild(Node child) {
+            children[indexOf(child.label.charAt(0))] = child;
+        }
+
+        void removeChild(char c) {
+            int index = indexOf(c);
+            System.arraycopy(firstChars, index + 1, firstChars, index, childCount - index - 1);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+        }
+
+        // folds a non-terminal node with a single child into one edge
+        void mergeWithOnlyChild() {
+            Node child = children[0];
+            label = label + child.label;
+            terminal = child.terminal;
+            firstChars = child.firstChars;
+            children = child.children;
+            childCount = child.childCount;
+        }
+    }
+
+    private static int commonPrefixLength(String s, int from, String label) {
+        int max = Math.min(s.length() - from, label.length());
+        int i = 0;
+        while (i < max && s.charAt(from + i) == label.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private Node findNode(String s) {
+        Node node = root;
+        int i = 0;
+        while (i < s.length()) {
+            node = node.child(s.charAt(i));
+            if (node == null || !s.startsWith(node.label, i)) {
+                return null;
+            }
+            i += node.label.length();
+        }
+        return node;
+    }
+
+    public String longestPrefixMatch(String s) {
+        if (s == null) {
+            return null;
+        }
+        Node node = root;
+        int i = 0;
+        int matched = root.terminal ? 0 : -1;
+        while (i < s.length()) {
+            node = node.child(s.charAt(i));
+            if (node == null || !s.startsWith(node.label, i)) {
+                break;
+            }
+            i += node.label.length();
+            if (node.terminal) {
+                matched = i;
+            }
+        }
+        return matched < 0 ? null : s.substring(0, matched);
+    }
+
+    private static class PrefixMatch {
+        final Node node;
+        final int labelStart;
+
+        PrefixMatch(Node node, int labelStart) {
+            this.node = node;
+            this.labelStart = labelStart;
+        }
+    }
+
+    // finds the topmost node whose subtree holds every key starting with prefix
+    private PrefixMatch findPrefix(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.child(prefix.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefixLength(prefix, i, child.label);
+            if (i + common == prefix.length()) {
+                // the prefix may end in the middle of an edge
+                return new PrefixMatch(child, i);
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            i += common;
+        }
+        return new PrefixMatch(node, prefix.length() - node.label.length());
+    }
+
+    public Iterator<String> prefixIterator(String prefix) {
+        PrefixMatch match = prefix == null ? null : findPrefix(prefix);
+        if (match == null) {
+            return new PrefixIterator(null, "");
+        }
+        return new PrefixIterator(match.node, prefix.substring(0, match.labelStart));
+    }
+
+    public int countWithPrefix(String prefix) {
+        PrefixMatch match = prefix == null ? null : findPrefix(prefix);
+        if (match == null) {
+            return 0;
+        }
+        int res = 0;
+        Node[] stack = new Node[16];
+        int depth = 0;
+        stack[depth++] = match.node;
+        while (depth > 0) {
+            Node node = stack[--depth];
+            if (node.terminal) {
+                res++;
+            }
+            if (depth + node.childCount > stack.length) {
+                stack = Arrays.copyOf(stack, Math.max(stack.length << 1, depth + node.childCount));
+            }
+            System.arraycopy(node.children, 0, stack, depth, node.childCount);
+            depth += node.childCount;
+        }
+        return res;
+    }
+
+    private class PrefixIterator implements Iterator<String> {
+        private final StringBuilder path;
+        private Node[] nodes = new Node[16];
+        private int[] pathLengths = new int[16];
+        private int depth;
+        private String next;
+
+        PrefixIterator(Node start, String parentPath) {
+            path = new StringBuilder(parentPath);
+            if (start != null) {
+                push(start, parentPath.length());
+            }
+            advance();
+        }
+
+        private void push(Node node, int pathLength) {
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth << 1);
+                pathLengths = Arrays.copyOf(pathLengths, depth << 1);
+            }
+            nodes[depth] = node;
+            pathLengths[depth++] = pathLength;
+        }
+
+        // pre-order walk, so a key is produced before every key it is a prefix of
+        private void advance() {
+            next = null;
+            while (next == null && depth > 0) {
+                Node node = nodes[--depth];
+                nodes[depth] = null;
+                path.setLength(pathLengths[depth]);
+                path.append(node.label);
+                for (int i = node.childCount - 1; i >= 0; i--) {
+                    push(node.children[i], path.length());
+                }
+                if (node.terminal) {
+                    next = path.toString();
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            String res = next;
+            advance();
+            return res;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(String obj) {
+        if (obj == null) {
+            return false;
+        }
+        Node node = findNode(obj);
+        return node != null && node.terminal;
+    }
+
+    @Override
+    public boolean add(String e) {
+        if (e == null) {
+            return false;
+        }
+        Node node = root;
+        int i = 0;
+        while (i < e.length()) {
+            Node child = node.child(e.charAt(i));
+            if (child == null) {
+                Node leaf = new Node(e.substring(i));
+                leaf.terminal = true;
+                node.addChild(leaf);
+                size++;
+                return true;
+            }
+            int common = commonPrefixLength(e, i, child.label);
+            if (common < child.label.length()) {
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.addChild(child);
+                node.replaceChild(split);
+                child = split;
+            }
+            node = child;
+            i += common;
+        }
+        if (node.terminal) {
+            return false;
+        }
+        node.terminal = true;
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(String obj) {
+        if (obj == null) {
+            return false;
+        }
+        Node parent = null;
+        Node node = root;
+        int i = 0;
+        while (i < obj.length()) {
+            parent = node;
+            node = node.child(obj.charAt(i));
+            if (node == null || !obj.startsWith(node.label, i)) {
+                return false;
+            }
+            i += node.label.length();
+        }
+        if (!node.terminal) {
+            return false;
+        }
+        node.terminal = false;
+        size--;
+        if (parent == null) {
+            return true;
+        }
+        if (node.childCount == 0) {
+            parent.removeChild(node.label.charAt(0));
+            if (parent != root && !parent.terminal && parent.childCount == 1) {
+                parent.mergeWithOnlyChild();
+            }
+        } else if (node.childCount == 1) {
+            node.mergeWithOnlyChild();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<String> predicate) {
+        if (predicate == null) {
+            return false;
+        }
+        List<String> removed = new ArrayList<>();
+        for (String s : this) {
+            if (predicate.test(s)) {
+                removed.add(s);
+            }
+        }
+        removed.forEach(this::remove);
+        return !removed.isEmpty();
+    }
+
+    @Override
+    public boolean retainAll(Collection<String> c) {
+        if (c == null) {
+            return false;
+        }
+        removeIf(e -> !c.contains(e));
+        return true;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] res = new Object[size];
+        int index = 0;
+        for (String s : this) {
+            res[index++] = s;
+        }
+        return res;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new PrefixIterator(root, "");
+    }
+
+    @Override
+    public boolean containsAll(Collection<String> c) {
+        if (c == null) {
+            return false;
+        }
+        return c.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public boolean addAll(Collection<String> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!add(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public boolean removeAll(Collection<String> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!remove(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public void clear() {
+        root = new Node("");
+        size = 0;
+    }
+}
@@ -0,0 +1,96 @@
+package collection_domain.set_domain;
+
+import java.util.function.IntConsumer;
+
+abstract class RoaringContainer {
+    static final int ARRAY_MAX_SIZE = 4096;
+    static final int BITMAP_WORDS = 1 << 10;
+
+    abstract int cardinality();
+
+    abstract boolean contains(char value);
+
+    abstract RoaringContainer add(char value);
+
+    abstract RoaringContainer remove(char value);
+
+    abstract int fill(int high, int[] dest, int offset);
+
+    abstract void forEach(int high, IntConsumer action);
+
+    abstract BitmapContainer toBitmap();
+
+    abstract RoaringContainer copy();
+
+    abstract int sizeInBytes();
+
+    int runsCount() {
+        int[] values = new int[cardinality()];
+        fill(0, values, 0);
+        int runs = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1] + 1) {
+                runs++;
+            }
+        }
+        return runs;
+    }
+
+    RoaringContainer optimize() {
+        int runsBytes = RunContainer.sizeInBytes(runsCount());
+        int arrayBytes = ArrayContainer.sizeInBytes(cardinality());
+        int bitmapBytes = BitmapContainer.SIZE_IN_BYTES;
+        if (runsBytes < Math.min(arrayBytes, bitmapBytes)) {
+            return this instanceof RunContainer ? this : RunContainer.from(this);
+        }
+        return cardinality() <= ARRAY_MAX_SIZE ? ArrayContainer.from(this) : toBitmap();
+    }
+
+    static RoaringContainer and(RoaringContainer a, RoaringContainer b) {
+        if (a instanceof ArrayContainer) {
+            return ((ArrayContainer) a).filter(b, true);
+        }
+        if (b instanceof ArrayContainer) {
+            return ((ArrayContainer) b).filter(a, true);
+        }
+        BitmapContainer res = a.toBitmap();
+        long[] other = b instanceof BitmapContainer ? ((BitmapContainer) b).words : b.toBitmap().words;
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+            res.words[i] &= other[i];
+        }
+        return res.normalize();
+    }
+
+    static RoaringContainer or(RoaringContainer a, RoaringContainer b) {
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer
+                && a.cardinality() + b.cardinality() <= ARRAY_MAX_SIZE) {
+            return ((ArrayContainer) a).merge((ArrayContainer) b);
+        }
+        BitmapContainer res = a.toBitmap();
+        if (b instanceof ArrayContainer) {
+            ((ArrayContainer) b).forEachValue(res::set);
+            return res.normalize();
+        }
+        long[] other = b instanceof BitmapContainer ? ((BitmapContainer) b).words : b.toBitmap().words;
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+            res.words[i] |= other[i];
+        }
+        return res.normalize();
+    }
+
+    static RoaringContainer andNot(RoaringContainer a, RoaringContainer b) {
+        if (a instanceof ArrayContainer) {
+            return ((ArrayContainer) a).filter(b, false);
+        }
+        BitmapContainer res = a.toBitmap();
+        if (b instanceof ArrayContainer) {
+            ((ArrayContainer) b).forEachValue(res::clear);
+            return res.normalize();
+        }
+        long[] other = b instanceof BitmapContainer ? ((BitmapContainer) b).words : b.toBitmap().words;
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+            res.words[i] &= ~other[i];
+        }
+        return res.normalize();
+    }
+}
@@ -0,0 +1,279 @@
+package collection_domain.set_domain;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+public class RoaringIntSet {
+    private char[] keys = new char[4];
+    private RoaringContainer[] containers = new RoaringContainer[4];
+    private int containersCount;
+    private int size;
+
+    private static char high(int value) {
+        return (char) (value >>> 16);
+    }
+
+    private static char low(int value) {
+        return (char) value;
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, containersCount, key);
+    }
+
+    private void insertContainer(int index, char key, RoaringContainer container) {
+        if (containersCount == keys.length) {
+            keys = Arrays.copyOf(keys, keys.length << 1);
+            containers = Arrays.copyOf(containers, containers.length << 1);
+        }
+        System.arraycopy(keys, index, keys, index + 1, containersCount - index);
+        System.arraycopy(containers, index, containers, index + 1, containersCount - index);
+        keys[index] = key;
+        containers[index] = container;
+        containersCount++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, containersCount - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, containersCount - index - 1);
+        containers[--containersCount] = null;
+    }
+
+    private void appendContainer(char key, RoaringContainer container) {
+        if (container.cardinality() == 0) {
+            return;
+        }
+        insertContainer(containersCount, key, container);
+        size += container.cardinality();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int value) {
+        int index = indexOf(high(value));
+        return index >= 0 && containers[index].contains(low(value));
+    }
+
+    public boolean add(int value) {
+        char key = high(value);
+        int index = indexOf(key);
+        if (index < 0) {
+            RoaringContainer container = new ArrayContainer(1).add(low(value));
+            insertContainer(-index - 1, key, container);
+            size++;
+            return true;
+        }
+        RoaringContainer container = containers[index];
+        int oldCardinality = container.cardinality();
+        containers[index] = container.add(low(value));
+        if (containers[index].cardinality() == oldCardinality) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    public boolean remove(int value) {
+        int index = indexOf(high(value));
+        if (index < 0) {
+            return false;
+        }
+        RoaringContainer container = containers[index];
+        int oldCardinality = container.cardinality();
+        containers[index] = container.remove(low(value));
+        if (containers[index].cardinality() == oldCardinality) {
+            return false;
+        }
+        size--;
+        if (containers[index].cardinality() == 0) {
+            removeContainer(index);
+        }
+        return true;
+    }
+
+    public RoaringIntSet and(RoaringIntSet other) {
+        RoaringIntSet res = new RoaringIntSet();
+        int i = 0;
+        int j = 0;
+        while (i < containersCount && j < other.containersCount) {
+            if (keys[i] == other.keys[j]) {
+                res.appendContainer(keys[i], RoaringContainer.and(containers[i], other.containers[j]));
+                i++;
+                j++;
+            } else if (keys[i] < other.keys[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return res;
+    }
+
+    public RoaringIntSet or(RoaringIntSet other) {
+        RoaringIntSet res = new RoaringIntSet();
+        int i = 0;
+        int j = 0;
+        while (i < containersCount || j < other.containersCount) {
+            if (j == other.containersCount || i < containersCount && keys[i] < other.keys[j]) {
+                res.appendContainer(keys[i], containers[i].copy());
+                i++;
+            } else if (i == containersCount || keys[i] > other.keys[j]) {
+                res.appendContainer(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                res.appendContainer(keys[i], RoaringContainer.or(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return res;
+    }
+
+    public RoaringIntSet andNot(RoaringIntSet other) {
+        RoaringIntSet res = new RoaringIntSet();
+        int j = 0;
+        for (int i = 0; i < containersCount; i++) {
+            while (j < other.containersCount && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.containersCount && other.keys[j] == keys[i]) {
+                res.appendContainer(keys[i], RoaringContainer.andNot(containers[i], other.containers[j]));
+            } else {
+                res.appendContainer(keys[i], containers[i].copy());
+            }
+        }
+        return res;
+    }
+
+    public void runOptimize() {
+        for (int i = 0; i < containersCount; i++) {
+            containers[i] = containers[i].optimize();
+        }
+    }
+
+    public long getSizeInBytes() {
+        long res = (long) containersCount * Character.BYTES;
+        for (int i = 0; i < containersCount; i++) {
+            res += containers[i].sizeInBytes();
+        }
+        return res;
+    }
+
+    public int[] toArray() {
+        int[] res = new int[size];
+        int offset = 0;
+        for (int i = 0; i < containersCount; i++) {
+            offset = containers[i].fill(keys[i] << 16, res, offset);
+        }
+        return res;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < containersCount; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            int containerIndex = 0;
+            int[] chunk = new int[0];
+            int chunkIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return chunkIndex < chunk.length || containerIndex < containersCount;
+            }
+
+            @Override
+            public int nextInt() {
+                if (chunkIndex == chunk.length) {
+                    if (containerIndex >= containersCount) {
+                        throw new NoSuchElementException();
+                    }
+                    chunk = new int[containers[containerIndex].cardinality()];
+                    containers[containerIndex].fill(keys[containerIndex] << 16, chunk, 0);
+                    containerIndex++;
+                    chunkIndex = 0;
+                }
+                return chunk[chunkIndex++];
+            }
+        };
+    }
+
+    public boolean addAll(int... values) {
+        boolean flag = true;
+        for (int value : values) {
+            if (!add(value)) {
+                flag = false;
+            }
+        }
+        return flag;
+    }
+
+    public boolean containsAll(int... values) {
+        for (int value : values) {
+            if (!contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean removeAll(int... values) {
+        boolean flag = true;
+        for (int value : values) {
+            if (!remove(value)) {
+                flag = false;
+            }
+        }
+        return flag;
+    }
+
+    public boolean retainAll(RoaringIntSet other) {
+        if (other == null) {
+            return false;
+        }
+        int oldSize = size;
+        replaceWith(and(other));
+        return oldSize != size;
+    }
+
+    public boolean removeIf(IntPredicate predicate) {
+        if (predicate == null) {
+            return false;
+        }
+        int oldSize = size;
+        RoaringIntSet res = new RoaringIntSet();
+        forEach(value -> {
+            if (!predicate.test(value)) {
+                res.add(value);
+            }
+        });
+        replaceWith(res);
+        return oldSize != size;
+    }
+
+    private void replaceWith(RoaringIntSet other) {
+        keys = other.keys;
+        containers = other.containers;
+        containersCount = other.containersCount;
+        size = other.size;
+    }
+
+    public void clear() {
+        keys = new char[4];
+        containers = new RoaringContainer[4];
+        containersCount = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,117 @@
+package collection_domain.set_domain;
+
+import java.util.function.IntConsumer;
+
+class RunContainer extends RoaringContainer {
+    // pairs of (start, length - 1), sorted by start
+    private final char[] runs;
+    private final int runsCount;
+    private final int cardinality;
+
+    private RunContainer(char[] runs, int runsCount, int cardinality) {
+        this.runs = runs;
+        this.runsCount = runsCount;
+        this.cardinality = cardinality;
+    }
+
+    static RunContainer from(RoaringContainer container) {
+        int[] values = new int[container.cardinality()];
+        container.fill(0, values, 0);
+        char[] runs = new char[container.runsCount() * 2];
+        int runsCount = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0 && values[i] == values[i - 1] + 1) {
+                runs[2 * runsCount - 1]++;
+            } else {
+                runs[2 * runsCount] = (char) values[i];
+                runsCount++;
+            }
+        }
+        return new RunContainer(runs, runsCount, values.length);
+    }
+
+    static int sizeInBytes(int runsCount) {
+        return Character.BYTES + 2 * Character.BYTES * runsCount;
+    }
+
+    private RoaringContainer toMutable() {
+        return cardinality <= ARRAY_MAX_SIZE ? ArrayContainer.from(this) : toBitmap();
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+        int low = 0;
+        int high = runsCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (runs[2 * mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high >= 0 && value - runs[2 * high] <= runs[2 * high + 1];
+    }
+
+    @Override
+    RoaringContainer add(char value) {
+        return contains(value) ? this : toMutable().add(value);
+    }
+
+    @Override
+    RoaringContainer remove(char value) {
+        return contains(value) ? toMutable().remove(value) : this;
+    }
+
+    @Override
+    int fill(int high, int[] dest, int offset) {
+        for (int i = 0; i < runsCount; i++) {
+            int start = runs[2 * i];
+            int end = start + runs[2 * i + 1];
+            for (int value = start; value <= end; value++) {
+                dest[offset++] = high | value;
+            }
+        }
+        return offset;
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+        for (int i = 0; i < runsCount; i++) {
+            int start = runs[2 * i];
+            int end = start + runs[2 * i + 1];
+            for (int value = start; value <= end; value++) {
+                action.accept(high | value);
+            }
+        }
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+        BitmapContainer res = new BitmapContainer();
+        for (int i = 0; i < runsCount; i++) {
+            res.setRange(runs[2 * i], runs[2 * i] + runs[2 * i + 1] + 1);
+        }
+        return res;
+    }
+
+    @Override
+    RoaringContainer copy() {
+        return this;
+    }
+
+    @Override
+    int sizeInBytes() {
+        return sizeInBytes(runsCount);
+    }
+
+    @Override
+    int runsCount() {
+        return runsCount;
+    }
+}
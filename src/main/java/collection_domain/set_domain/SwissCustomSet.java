@@ -0,0 +1,288 @@
+package collection_domain.set_domain;
+
+import collection_domain.HashUtils;
+import collection_domain.ICollection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+public class SwissCustomSet<T> implements ICollection<T> {
+    private final static int GROUP_WIDTH = 8;
+    private final static int DEFAULT_CAPACITY = 16;
+    private final static byte EMPTY = (byte) 0x80;
+    private final static byte DELETED = (byte) 0xFE;
+    private final static long LSB = 0x0101010101010101L;
+    private final static long MSB = 0x8080808080808080L;
+    private final static VarHandle GROUP_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private byte[] control;
+    private Object[] keys;
+    private int size;
+    private int growthLeft;
+
+    public SwissCustomSet(int capacity) {
+        allocateTable(Math.max(GROUP_WIDTH, HashUtils.tableSizeFor(capacity + capacity / 7)));
+    }
+
+    public SwissCustomSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private void allocateTable(int capacity) {
+        control = new byte[capacity];
+        Arrays.fill(control, EMPTY);
+        keys = new Object[capacity];
+        growthLeft = capacity - capacity / 8 - size;
+    }
+
+    private long loadGroup(int group) {
+        return (long) GROUP_VIEW.get(control, group * GROUP_WIDTH);
+    }
+
+    private static long matchByte(long group, int h2) {
+        long x = group ^ (LSB * h2);
+        return (x - LSB) & ~x & MSB;
+    }
+
+    private static long matchEmpty(long group) {
+        return group & (~group << 6) & MSB;
+    }
+
+    private static long matchEmptyOrDeleted(long group) {
+        return group & ~(group << 7) & MSB;
+    }
+
+    private static int lowestSlot(long matches) {
+        return Long.numberOfTrailingZeros(matches) >>> 3;
+    }
+
+    private int findSlot(Object o, int hash) {
+        int groupMask = control.length / GROUP_WIDTH - 1;
+        int h2 = hash & 0x7F;
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            long word = loadGroup(group);
+            for (long matches = matchByte(word, h2); matches != 0; matches &= matches - 1) {
+                int slot = group * GROUP_WIDTH + lowestSlot(matches);
+                if (keys[slot].equals(o)) {
+                    return slot;
+                }
+            }
+            if (matchEmpty(word) != 0) {
+                return -1;
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    private int findInsertSlot(int hash) {
+        int groupMask = control.length / GROUP_WIDTH - 1;
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            long matches = matchEmptyOrDeleted(loadGroup(group));
+            if (matches != 0) {
+                return group * GROUP_WIDTH + lowestSlot(matches);
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        return findSlot(o, HashUtils.hash(o)) >= 0;
+    }
+
+    @Override
+    public boolean add(T e) {
+        if (e == null) {
+            return false;
+        }
+        int hash = HashUtils.hash(e);
+        if (findSlot(e, hash) >= 0) {
+            return false;
+        }
+        int slot = findInsertSlot(hash);
+        if (growthLeft == 0 && control[slot] == EMPTY) {
+            rehash();
+            slot = findInsertSlot(hash);
+        }
+        if (control[slot] == EMPTY) {
+            growthLeft--;
+        }
+        control[slot] = (byte) (hash & 0x7F);
+        keys[slot] = e;
+        size++;
+        return true;
+    }
+
+    private void rehash() {
+        byte[] oldControl = control;
+        Object[] oldKeys = keys;
+        int capacity = oldControl.length;
+        if (size >= capacity / 2) {
+            if (capacity >= HashUtils.MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("Set is too large");
+            }
+            capacity <<= 1;
+        }
+        allocateTable(capacity);
+        for (int i = 0; i < oldControl.length; i++) {
+            if (oldControl[i] >= 0) {
+                int hash = HashUtils.hash(oldKeys[i]);
+                int slot = findInsertSlot(hash);
+                control[slot] = (byte) (hash & 0x7F);
+                keys[slot] = oldKeys[i];
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        int slot = findSlot(o, HashUtils.hash(o));
+        if (slot < 0) {
+            return false;
+        }
+        deleteSlot(slot);
+        return true;
+    }
+
+    private void deleteSlot(int slot) {
+        if (matchEmpty(loadGroup(slot / GROUP_WIDTH)) != 0) {
+            control[slot] = EMPTY;
+            growthLeft++;
+        } else {
+            control[slot] = DELETED;
+        }
+        keys[slot] = null;
+        size--;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean removeIf(Predicate<T> predicate) {
+        if (predicate == null) {
+            return false;
+        }
+        int oldSize = size;
+        for (int i = 0; i < control.length; i++) {
+            if (control[i] >= 0 && predicate.test((T) keys[i])) {
+                deleteSlot(i);
+            }
+        }
+        return oldSize != size;
+    }
+
+    @Override
+    public boolean retainAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        removeIf(e -> !c.contains(e));
+        return true;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] res = new Object[size];
+        int index = 0;
+        for (int i = 0; i < control.length; i++) {
+            if (control[i] >= 0) {
+                res[index++] = keys[i];
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            int slot = nextSlot(0);
+
+            private int nextSlot(int from) {
+                while (from < control.length && control[from] < 0) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < control.length;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T res = (T) keys[slot];
+                slot = nextSlot(slot + 1);
+                return res;
+            }
+        };
+    }
+
+    @Override
+    public boolean containsAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        return c.stream().allMatch(this::contains);
+    }
+
+    @Override
+    public boolean addAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!add(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public boolean removeAll(Collection<T> c) {
+        if (c == null) {
+            return false;
+        }
+        final boolean[] flag = {true};
+        c.forEach(e -> {
+            if (!remove(e)) {
+                flag[0] = false;
+            }
+        });
+        return flag[0];
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        allocateTable(control.length);
+    }
+}
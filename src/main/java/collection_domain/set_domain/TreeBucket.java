@@ -0,0 +1,74 @@
+package collection_domain.set_domain;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeMap;
+
+class TreeBucket<T> extends AbstractCollection<T> {
+    private final TreeMap<Object, List<T>> tree = new TreeMap<>(TreeBucket::compareElements);
+    private int size;
+
+    TreeBucket(Collection<T> elements) {
+        elements.forEach(this::add);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareElements(Object o1, Object o2) {
+        int res = Integer.compare(o1.hashCode(), o2.hashCode());
+        if (res != 0) {
+            return res;
+        }
+        Class<?> class1 = o1.getClass();
+        Class<?> class2 = o2.getClass();
+        if (class1 != class2) {
+            return class1.getName().compareTo(class2.getName());
+        }
+        if (o1 instanceof Comparable) {
+            return ((Comparable) o1).compareTo(o2);
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        List<T> equivalents = tree.get(o);
+        return equivalents != null && equivalents.contains(o);
+    }
+
+    @Override
+    public boolean add(T e) {
+        List<T> equivalents = tree.computeIfAbsent(e, k -> new ArrayList<>(1));
+        if (equivalents.contains(e)) {
+            return false;
+        }
+        equivalents.add(e);
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        List<T> equivalents = tree.get(o);
+        if (equivalents == null || !equivalents.remove(o)) {
+            return false;
+        }
+        if (equivalents.isEmpty()) {
+            tree.remove(o);
+        }
+        size--;
+        return true;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return tree.values().stream().flatMap(List::stream).iterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
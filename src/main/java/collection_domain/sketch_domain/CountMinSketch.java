@@ -0,0 +1,189 @@
+package collection_domain.sketch_domain;
+
+import collection_domain.HashUtils;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class CountMinSketch {
+    private final static byte FORMAT_VERSION = 1;
+    private final static int MAXIMUM_COUNTERS = Integer.MAX_VALUE - 8;
+    private final int depth;
+    private final int width;
+    private final long[] table;
+    private long totalCount;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || depth > 64) {
+            throw new IllegalArgumentException("Wrong depth");
+        }
+        if (width <= 0 || width > HashUtils.MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Wrong width");
+        }
+        int roundedWidth = HashUtils.tableSizeFor(width);
+        if ((long) depth * roundedWidth > MAXIMUM_COUNTERS) {
+            throw new IllegalArgumentException("Wrong width");
+        }
+        this.depth = depth;
+        this.width = roundedWidth;
+        this.table = new long[depth * roundedWidth];
+    }
+
+    // estimates exceed the true count by at most epsilon * totalCount with the given confidence
+    public CountMinSketch(double epsilon, double confidence) {
+        this(depthFor(confidence), widthFor(epsilon));
+    }
+
+    private static int depthFor(double confidence) {
+        if (confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("Wrong confidence");
+        }
+        return (int) Math.ceil(Math.log(1 / (1 - confidence)));
+    }
+
+    private static int widthFor(double epsilon) {
+        if (epsilon <= 0 || epsilon >= 1) {
+            throw new IllegalArgumentException("Wrong epsilon");
+        }
+        return (int) Math.ceil(Math.E / epsilon);
+    }
+
+    private int indexOf(int h1, int h2, int row) {
+        return row * width + (HashUtils.spread(h1 + row * h2) & (width - 1));
+    }
+
+    public void add(Object o, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Wrong count");
+        }
+        if (o == null) {
+            return;
+        }
+        int h1 = HashUtils.hash(o);
+        int h2 = HashUtils.spread((long) h1) | 1;
+        for (int row = 0; row < depth; row++) {
+            table[indexOf(h1, h2, row)] += count;
+        }
+        totalCount += count;
+    }
+
+    public void add(Object o) {
+        add(o, 1);
+    }
+
+    public long estimateCount(Object o) {
+        if (o == null) {
+            return 0;
+        }
+        int h1 = HashUtils.hash(o);
+        int h2 = HashUtils.spread((long) h1) | 1;
+        long res = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            res = Math.min(res, table[indexOf(h1, h2, row)]);
+        }
+        return res;
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other == null || other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("Wrong sketch dimensions");
+        }
+        for (int i = 0; i < table.length; i++) {
+            table[i] += other.table[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public double getRelativeError() {
+        return Math.E / width;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        totalCount = 0;
+    }
+
+    // counters are written as unsigned varints, so the mostly small counts take a byte or two
+    public byte[] toByteArray() {
+        int length = 1 + 4 + 4 + varLongSize(totalCount);
+        for (long counter : table) {
+            length += varLongSize(counter);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.put(FORMAT_VERSION);
+        buffer.putInt(depth);
+        buffer.putInt(width);
+        putVarLong(buffer, totalCount);
+        for (long counter : table) {
+            putVarLong(buffer, counter);
+        }
+        return buffer.array();
+    }
+
+    public static CountMinSketch fromByteArray(byte[] bytes) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Wrong sketch bytes");
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.get() != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Wrong sketch bytes");
+            }
+            int depth = buffer.getInt();
+            int width = buffer.getInt();
+            // every varint takes at least one byte, so a short payload is rejected before allocating
+            if (depth <= 0 || width <= 0 || Integer.bitCount(width) != 1
+                    || buffer.remaining() < 1 + (long) depth * width) {
+                throw new IllegalArgumentException("Wrong sketch bytes");
+            }
+            CountMinSketch res = new CountMinSketch(depth, width);
+            res.totalCount = getVarLong(buffer);
+            for (int i = 0; i < res.table.length; i++) {
+                res.table[i] = getVarLong(buffer);
+            }
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Wrong sketch bytes");
+            }
+            return res;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Wrong sketch bytes");
+        }
+    }
+
+    private static int varLongSize(long value) {
+        return Math.max(1, (64 - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long res = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            res |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return res;
+            }
+        }
+        throw new IllegalArgumentException("Wrong sketch bytes");
+    }
+}
@@ -0,0 +1,145 @@
+package collection_domain.sketch_domain;
+
+import collection_domain.HashUtils;
+
+import java.util.Arrays;
+
+public class HyperLogLog {
+    private final static int MIN_PRECISION = 4;
+    private final static int MAX_PRECISION = 18;
+    private final static int DEFAULT_PRECISION = 14;
+    private final static byte FORMAT_VERSION = 1;
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Wrong precision");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    // widens the 32-bit CustomSet hash so index and rank bits do not overlap
+    private static long mix(int hash) {
+        long h = hash * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    public boolean add(Object o) {
+        if (o == null) {
+            return false;
+        }
+        return addHash(mix(HashUtils.hash(o)));
+    }
+
+    public boolean addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+            return true;
+        }
+        return false;
+    }
+
+    public long cardinality() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        // linear counting is more accurate while many registers are still empty
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other == null || other.precision != precision) {
+            throw new IllegalArgumentException("Wrong precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public double getRelativeError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public void clear() {
+        Arrays.fill(registers, (byte) 0);
+    }
+
+    // [version][precision] followed by 6-bit registers packed little-endian
+    public byte[] toByteArray() {
+        byte[] res = new byte[2 + (registers.length * 6 + 7) / 8];
+        res[0] = FORMAT_VERSION;
+        res[1] = (byte) precision;
+        long bit = 16;
+        for (byte register : registers) {
+            for (int b = 0; b < 6; b++, bit++) {
+                if ((register & (1 << b)) != 0) {
+                    res[(int) (bit >>> 3)] |= 1 << (bit & 7);
+                }
+            }
+        }
+        return res;
+    }
+
+    public static HyperLogLog fromByteArray(byte[] bytes) {
+        if (bytes == null || bytes.length < 2 || bytes[0] != FORMAT_VERSION
+                || bytes[1] < MIN_PRECISION || bytes[1] > MAX_PRECISION) {
+            throw new IllegalArgumentException("Wrong sketch bytes");
+        }
+        HyperLogLog res = new HyperLogLog(bytes[1]);
+        if (bytes.length != 2 + (res.registers.length * 6 + 7) / 8) {
+            throw new IllegalArgumentException("Wrong sketch bytes");
+        }
+        long bit = 16;
+        for (int i = 0; i < res.registers.length; i++) {
+            int register = 0;
+            for (int b = 0; b < 6; b++, bit++) {
+                if ((bytes[(int) (bit >>> 3)] & (1 << (bit & 7))) != 0) {
+                    register |= 1 << b;
+                }
+            }
+            res.registers[i] = (byte) register;
+        }
+        return res;
+    }
+}
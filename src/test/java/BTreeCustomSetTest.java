@@ -0,0 +1,128 @@
+import collection_domain.set_domain.BTreeCustomSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BTreeCustomSetTest {
+    BTreeCustomSet<Integer> customSet;
+    List<Integer> expected = new ArrayList<>(Arrays.asList(2, 3, 5, 7, 11, 13, 17, 19));
+
+    @BeforeEach
+    void setUp() {
+        customSet = new BTreeCustomSet<>(null, 4);
+        for (int i = expected.size() - 1; i >= 0; i--) {
+            customSet.add(expected.get(i));
+        }
+    }
+
+    @Test
+    void addContainsRemove() {
+        assertEquals(expected.size(), customSet.size());
+        assertFalse(customSet.add(2));
+        assertFalse(customSet.add(null));
+        assertTrue(customSet.contains(19));
+        assertFalse(customSet.contains(100));
+        assertTrue(customSet.remove(19));
+        assertFalse(customSet.remove(19));
+        assertFalse(customSet.contains(19));
+        assertEquals(expected.size() - 1, customSet.size());
+    }
+
+    @Test
+    void orderedIterationAndNavigation() {
+        assertArrayEquals(expected.toArray(), customSet.toArray());
+        List<Integer> iterated = new ArrayList<>();
+        customSet.forEach(iterated::add);
+        assertEquals(expected, iterated);
+        assertEquals(2, customSet.first());
+        assertEquals(19, customSet.last());
+        assertEquals(7, customSet.floor(8));
+        assertEquals(7, customSet.floor(7));
+        assertNull(customSet.floor(1));
+        assertEquals(11, customSet.ceiling(8));
+        assertNull(customSet.ceiling(20));
+        assertEquals(List.of(5, 7, 11), collect(customSet.subSet(4, 13)));
+        assertEquals(List.of(2, 3), collect(customSet.headSet(5)));
+        assertEquals(List.of(17, 19), collect(customSet.tailSet(17)));
+        customSet.clear();
+        assertThrows(NoSuchElementException.class, () -> customSet.first());
+        assertNull(customSet.ceiling(1));
+    }
+
+    @Test
+    void removeIfRetainAllClear() {
+        assertTrue(customSet.removeIf(e -> e <= 5));
+        assertEquals(5, customSet.size());
+        customSet.retainAll(List.of(7, 11));
+        assertEquals(2, customSet.size());
+        assertEquals(7, customSet.first());
+        customSet.clear();
+        assertTrue(customSet.isEmpty());
+        assertFalse(customSet.contains(7));
+    }
+
+    @Test
+    void bulkLoadAndComparator() {
+        List<Integer> sorted = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            sorted.add(i * 3);
+        }
+        BTreeCustomSet<Integer> loaded = new BTreeCustomSet<>(sorted, null, 8);
+        assertEquals(10_000, loaded.size());
+        assertTrue(loaded.contains(2_997));
+        assertFalse(loaded.contains(2_998));
+        assertEquals(3_000, loaded.ceiling(2_998));
+        assertTrue(loaded.add(2_998));
+        assertTrue(loaded.remove(0));
+        assertEquals(3, loaded.first());
+        assertThrows(IllegalArgumentException.class, () -> new BTreeCustomSet<>(List.of(3, 1), null, 8));
+        BTreeCustomSet<String> reversed = new BTreeCustomSet<>(Comparator.<String>reverseOrder());
+        reversed.add("a");
+        reversed.add("c");
+        reversed.add("b");
+        assertEquals("c", reversed.first());
+        assertEquals(List.of("b", "a"), collect(reversed.tailSet("b")));
+    }
+
+    @Test
+    void matchesTreeSetUnderChurn() {
+        BTreeCustomSet<Integer> set = new BTreeCustomSet<>(null, 5);
+        TreeSet<Integer> reference = new TreeSet<>();
+        Random random = new Random(23);
+        for (int i = 0; i < 200_000; i++) {
+            int value = random.nextInt(4_000);
+            if (random.nextBoolean()) {
+                assertEquals(reference.add(value), set.add(value));
+            } else {
+                assertEquals(reference.remove(value), set.remove(value));
+            }
+            if (i % 10_000 == 0 && !reference.isEmpty()) {
+                assertEquals(reference.first(), set.first());
+                assertEquals(reference.last(), set.last());
+            }
+        }
+        assertEquals(reference.size(), set.size());
+        assertArrayEquals(reference.toArray(), set.toArray());
+        for (int i = -1; i <= 4_000; i++) {
+            assertEquals(reference.contains(i), set.contains(i));
+            assertEquals(reference.floor(i), set.floor(i));
+            assertEquals(reference.ceiling(i), set.ceiling(i));
+        }
+        assertEquals(new ArrayList<>(reference.subSet(1_000, 2_000)), collect(set.subSet(1_000, 2_000)));
+    }
+
+    private static <T> List<T> collect(Iterable<T> iterable) {
+        List<T> res = new ArrayList<>();
+        iterable.forEach(res::add);
+        return res;
+    }
+}
@@ -1,14 +1,21 @@
 import collection_domain.list_domain.ICollectionIndexed;
 import collection_domain.list_domain.array_list.CustomArrayList;
 import collection_domain.list_domain.linked_list.BlockingCustomList;
+import collection_domain.list_domain.linked_list.LockOperation;
+import collection_domain.list_domain.linked_list.LockStatistics;
+import collection_domain.list_domain.linked_list.LockingMode;
+import collection_domain.list_domain.linked_list.OperationStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
@@ -260,4 +267,158 @@ public class BlockingCustomListTest {
         executorService.awaitTermination(1, TimeUnit.MINUTES);
         assertEquals(0, numbers.size());
     }
+
+    @Test
+    public void testFlatCombiningAdd() throws InterruptedException {
+        numbers = new BlockingCustomList<>(true);
+        for (int i = 0; i < 1000; i++) {
+            final int value = i;
+            executorService.submit(() -> numbers.add(value));
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+        assertEquals(1000, numbers.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(numbers.contains(i));
+        }
+    }
+
+    @Test
+    public void testFlatCombiningAddRemove() throws InterruptedException {
+        numbers = new BlockingCustomList<>(true);
+        for (int i = 0; i < 1000; i++) {
+            final int value = i;
+            executorService.submit(() -> {
+                numbers.add(value);
+                numbers.remove((Integer) value);
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+        assertEquals(0, numbers.size());
+        assertFalse(numbers.remove((Integer) 5));
+    }
+
+    @Test
+    public void testRemoveMissingElement() {
+        assertFalse(numbers.remove((Integer) 12345));
+        assertEquals(arrNumbers.length, numbers.size());
+        numbers = new BlockingCustomList<>(true);
+        Arrays.stream(arrNumbers).forEach(n -> numbers.add(n));
+        assertFalse(numbers.remove((Integer) 12345));
+        assertEquals(arrNumbers.length, numbers.size());
+    }
+
+    @Test
+    public void testFlatCombiningFailureIsRethrownToOwner() throws Exception {
+        BlockingCustomList<Object> list = new BlockingCustomList<>(true);
+        list.add(new Object() {
+            @Override
+            public boolean equals(Object o) {
+                throw new IllegalStateException("Faulty equals");
+            }
+
+            @Override
+            public int hashCode() {
+                return 0;
+            }
+        });
+        List<Future<Boolean>> adds = new ArrayList<>();
+        List<Future<Boolean>> removes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final int value = i;
+            adds.add(executorService.submit(() -> list.add(value)));
+            removes.add(executorService.submit(() -> list.remove("missing")));
+        }
+        for (Future<Boolean> add : adds) {
+            assertTrue(add.get(1, TimeUnit.MINUTES));
+        }
+        for (Future<Boolean> remove : removes) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> remove.get(1, TimeUnit.MINUTES));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        assertEquals(201, list.size());
+    }
+
+    @Test
+    public void testFlatCombiningAddAll() {
+        numbers = new BlockingCustomList<>(true);
+        numbers.addAll(Arrays.asList(arrNumbers));
+        assertArrayEquals(arrNumbers, numbers.toArray());
+    }
+
+    @Test
+    public void testReentrantLockingAddRemove() throws InterruptedException {
+        numbers = new BlockingCustomList<>(LockingMode.REENTRANT);
+        for (int i = 0; i < 100; i++) {
+            final int value = i;
+            executorService.submit(() -> {
+                numbers.add(value);
+                numbers.add(value + 100);
+                numbers.remove((Integer) value);
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+        assertEquals(100, numbers.size());
+        numbers.sort(Integer::compare);
+        assertEquals(100, numbers.get(0));
+    }
+
+    @Test
+    public void testReentrantLockingFlatCombining() throws InterruptedException {
+        numbers = new BlockingCustomList<>(LockingMode.REENTRANT, true);
+        for (int i = 0; i < 100; i++) {
+            final int value = i;
+            executorService.submit(() -> numbers.add(value));
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+        assertEquals(100, numbers.size());
+        numbers.addAll(Arrays.asList(arrNumbers));
+        assertEquals(100 + arrNumbers.length, numbers.size());
+    }
+
+    @Test
+    public void testLockStatistics() throws InterruptedException {
+        LockStatistics statistics = new LockStatistics();
+        numbers = new BlockingCustomList<>(LockingMode.REENTRANT, false, statistics);
+        for (int i = 0; i < 100; i++) {
+            final int value = i;
+            executorService.submit(() -> {
+                numbers.add(value);
+                numbers.get(0);
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+        numbers.remove((Integer) 5);
+        numbers.indexOf((Integer) 7);
+        numbers.sort(Integer::compare);
+        Map<LockOperation, OperationStatistics> snapshot = statistics.snapshot();
+        assertEquals(100, snapshot.get(LockOperation.ADD).getAcquisitions());
+        assertEquals(100, snapshot.get(LockOperation.GET).getAcquisitions());
+        assertEquals(1, snapshot.get(LockOperation.REMOVE).getAcquisitions());
+        assertEquals(1, snapshot.get(LockOperation.INDEX_OF).getAcquisitions());
+        assertEquals(1, snapshot.get(LockOperation.SORT).getAcquisitions());
+        assertEquals(100, Arrays.stream(snapshot.get(LockOperation.ADD).getWaitHistogram()).sum());
+        assertTrue(snapshot.get(LockOperation.ADD).getMaxQueueDepth() >= 1);
+        assertTrue(snapshot.get(LockOperation.SORT).getTotalHoldNanos() > 0);
+        statistics.reset();
+        assertEquals(0, statistics.snapshot(LockOperation.ADD).getAcquisitions());
+    }
+
+    @Test
+    public void testLockStatisticsMBean() {
+        LockStatistics statistics = new LockStatistics();
+        numbers = new BlockingCustomList<>(LockingMode.MONITOR, false, statistics);
+        numbers.add(1);
+        statistics.register("test");
+        try {
+            assertThrows(IllegalStateException.class, () -> statistics.register("test"));
+            assertEquals(1L, statistics.getAcquisitionCounts().get("ADD"));
+        } finally {
+            statistics.unregister();
+        }
+    }
 }
@@ -0,0 +1,67 @@
+import collection_domain.list_domain.ICollectionIndexed;
+import collection_domain.list_domain.linked_list.BlockingCustomList;
+import collection_domain.list_domain.linked_list.LockingMode;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class BlockingCustomListVirtualThreadBenchmark {
+    private static final int THREADS = 100_000;
+    private static final Logger LOGGER = Logger.getLogger(BlockingCustomListVirtualThreadBenchmark.class.getName());
+    private static boolean virtualThreadsAvailable;
+
+    @BeforeAll
+    static void checkVirtualThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            virtualThreadsAvailable = true;
+        } catch (NoSuchMethodException e) {
+            virtualThreadsAvailable = false;
+        }
+    }
+
+    private ExecutorService newVirtualThreadExecutor() throws ReflectiveOperationException {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+
+    private long runAddRead(ICollectionIndexed<Integer> numbers) throws Exception {
+        long start = System.nanoTime();
+        ExecutorService executorService = newVirtualThreadExecutor();
+        for (int i = 0; i < THREADS; i++) {
+            final int value = i;
+            executorService.submit(() -> {
+                numbers.add(value);
+                numbers.get(0);
+                numbers.lastIndexOf(value);
+            });
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.MINUTES));
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @Test
+    void benchmarkMonitorLocking() throws Exception {
+        assumeTrue(virtualThreadsAvailable, "Virtual threads require JDK 21");
+        ICollectionIndexed<Integer> numbers = new BlockingCustomList<>(LockingMode.MONITOR);
+        long millis = runAddRead(numbers);
+        assertEquals(THREADS, numbers.size());
+        LOGGER.fine(() -> String.format("MONITOR: %d virtual threads in %d ms", THREADS, millis));
+    }
+
+    @Test
+    void benchmarkReentrantLocking() throws Exception {
+        assumeTrue(virtualThreadsAvailable, "Virtual threads require JDK 21");
+        ICollectionIndexed<Integer> numbers = new BlockingCustomList<>(LockingMode.REENTRANT);
+        long millis = runAddRead(numbers);
+        assertEquals(THREADS, numbers.size());
+        LOGGER.fine(() -> String.format("REENTRANT: %d virtual threads in %d ms", THREADS, millis));
+    }
+}
@@ -0,0 +1,131 @@
+import collection_domain.cache_domain.BoundedCache;
+import collection_domain.cache_domain.CacheStatistics;
+import collection_domain.cache_domain.EvictionPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    @Test
+    void getPutRemove() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+        assertNull(cache.put("a", 1));
+        assertEquals(1, cache.put("a", 2));
+        assertEquals(2, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNull(cache.put(null, 1));
+        assertTrue(cache.containsKey("a"));
+        assertEquals(2, cache.remove("a"));
+        assertNull(cache.remove("a"));
+        assertEquals(0, cache.size());
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(0.5, statistics.getHitRate());
+    }
+
+    @Test
+    void lruEvictsLeastRecentlyUsed() {
+        List<String> evicted = new ArrayList<>();
+        BoundedCache<String, Integer> cache = new BoundedCache<>(3, EvictionPolicy.LRU, null,
+                (key, value) -> evicted.add(key));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.get("a");
+        cache.put("d", 4);
+        assertEquals(List.of("b"), evicted);
+        assertEquals(3, cache.size());
+        assertTrue(cache.containsKey("a"));
+        assertEquals(1, cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    void lfuEvictsLeastFrequentlyUsed() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(3, EvictionPolicy.LFU);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+        cache.get("c");
+        cache.get("c");
+        cache.put("d", 4);
+        assertFalse(cache.containsKey("b"));
+        cache.put("e", 5);
+        assertFalse(cache.containsKey("d"));
+        assertTrue(cache.containsKey("a"));
+        assertTrue(cache.containsKey("c"));
+    }
+
+    @Test
+    void weightsBoundTheCache() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, EvictionPolicy.LRU,
+                (key, value) -> value.length(), null);
+        cache.put("a", "12345");
+        cache.put("b", "1234");
+        assertEquals(9, cache.getWeightedSize());
+        cache.put("c", "123");
+        assertFalse(cache.containsKey("a"));
+        assertEquals(7, cache.getWeightedSize());
+        cache.put("b", "12345678");
+        assertFalse(cache.containsKey("c"));
+        assertEquals(8, cache.getWeightedSize());
+        assertNull(cache.put("huge", "12345678901"));
+        assertFalse(cache.containsKey("huge"));
+        assertEquals(3, cache.getStatistics().getEvictionCount());
+        assertEquals(19, cache.getStatistics().getEvictionWeight());
+    }
+
+    @Test
+    void tinyLfuResistsScans() {
+        BoundedCache<Integer, Integer> tinyLfu = new BoundedCache<>(100, EvictionPolicy.TINY_LFU);
+        BoundedCache<Integer, Integer> lru = new BoundedCache<>(100, EvictionPolicy.LRU);
+        for (int round = 0; round < 20; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                access(tinyLfu, hot);
+                access(lru, hot);
+            }
+            for (int scan = 0; scan < 200; scan++) {
+                int key = 1_000 + round * 200 + scan;
+                access(tinyLfu, key);
+                access(lru, key);
+            }
+        }
+        assertTrue(tinyLfu.size() <= 100);
+        int tinyLfuHot = 0;
+        int lruHot = 0;
+        for (int hot = 0; hot < 50; hot++) {
+            tinyLfuHot += tinyLfu.containsKey(hot) ? 1 : 0;
+            lruHot += lru.containsKey(hot) ? 1 : 0;
+        }
+        assertTrue(tinyLfuHot > 45);
+        assertTrue(tinyLfuHot > lruHot);
+        assertTrue(tinyLfu.getStatistics().getHitRate() > lru.getStatistics().getHitRate());
+    }
+
+    @Test
+    void clearKeepsStatistics() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(1_000, EvictionPolicy.TINY_LFU);
+        for (int i = 0; i < 5_000; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(1_000, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getWeightedSize());
+        assertNull(cache.get(4_999));
+        assertEquals(4_000, cache.getStatistics().getEvictionCount());
+    }
+
+    private static void access(BoundedCache<Integer, Integer> cache, int key) {
+        if (cache.get(key) == null) {
+            cache.put(key, key);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+import collection_domain.set_domain.ConcurrentCustomSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentCustomSetTest {
+    ConcurrentCustomSet<Integer> customSet;
+    List<Integer> expected = new ArrayList<>(Arrays.asList(2, 3, 5, 7, 11, 13, 17, 19));
+    final ExecutorService executorService = Executors.newFixedThreadPool(16);
+
+    @BeforeEach
+    void setUp() {
+        customSet = new ConcurrentCustomSet<>(2);
+        for (Integer i : expected) {
+            customSet.add(i);
+        }
+    }
+
+    @Test
+    void addContainsRemove() {
+        assertEquals(expected.size(), customSet.size());
+        assertFalse(customSet.add(2));
+        assertFalse(customSet.add(null));
+        assertTrue(customSet.contains(19));
+        assertFalse(customSet.contains(100));
+        assertTrue(customSet.remove(19));
+        assertFalse(customSet.remove(19));
+        assertEquals(expected.size() - 1, customSet.size());
+    }
+
+    @Test
+    void iteratorAndToArray() {
+        int count = 0;
+        for (Integer num : customSet) {
+            assertTrue(expected.contains(num));
+            count++;
+        }
+        assertEquals(expected.size(), count);
+        assertEquals(expected.size(), customSet.toArray().length);
+    }
+
+    @Test
+    void removeIfRetainAllClear() {
+        assertTrue(customSet.removeIf(e -> e <= 5));
+        assertEquals(5, customSet.size());
+        customSet.retainAll(List.of(7, 11));
+        assertEquals(2, customSet.size());
+        customSet.clear();
+        assertTrue(customSet.isEmpty());
+        assertFalse(customSet.contains(7));
+    }
+
+    @Test
+    void concurrentAddsWithResizing() throws InterruptedException {
+        customSet = new ConcurrentCustomSet<>(2);
+        AtomicInteger added = new AtomicInteger();
+        for (int t = 0; t < 16; t++) {
+            executorService.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    if (customSet.add(i)) {
+                        added.incrementAndGet();
+                    }
+                    assertTrue(customSet.contains(i));
+                }
+            });
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(20_000, added.get());
+        assertEquals(20_000, customSet.size());
+        assertEquals(20_000, customSet.toArray().length);
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(customSet.contains(i));
+        }
+    }
+
+    @Test
+    void concurrentAddRemove() throws InterruptedException {
+        customSet = new ConcurrentCustomSet<>();
+        for (int t = 0; t < 16; t++) {
+            final int offset = t * 10_000;
+            executorService.submit(() -> {
+                for (int i = offset; i < offset + 10_000; i++) {
+                    customSet.add(i);
+                    if (i % 2 == 0) {
+                        customSet.remove(i);
+                    }
+                }
+            });
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(80_000, customSet.size());
+        for (int i = 0; i < 160_000; i++) {
+            assertEquals(i % 2 != 0, customSet.contains(i));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+import collection_domain.sketch_domain.CountMinSketch;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountMinSketchTest {
+
+    @Test
+    void estimates() {
+        CountMinSketch sketch = new CountMinSketch(0.001, 0.99);
+        Map<Integer, Long> reference = new HashMap<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 100000; i++) {
+            int value = (int) Math.abs(random.nextGaussian() * 1000);
+            sketch.add(value);
+            reference.merge(value, 1L, Long::sum);
+        }
+        assertEquals(100000, sketch.getTotalCount());
+        long bound = (long) (sketch.getRelativeError() * sketch.getTotalCount());
+        reference.forEach((value, count) -> {
+            long estimate = sketch.estimateCount(value);
+            assertTrue(estimate >= count);
+            assertTrue(estimate <= count + bound);
+        });
+        assertEquals(0, sketch.estimateCount(null));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add("a", -1));
+    }
+
+    @Test
+    void merge() {
+        CountMinSketch first = new CountMinSketch(4, 1024);
+        CountMinSketch second = new CountMinSketch(4, 1024);
+        first.add("a", 5);
+        second.add("a", 7);
+        second.add("b");
+        first.merge(second);
+        assertEquals(12, first.estimateCount("a"));
+        assertEquals(1, first.estimateCount("b"));
+        assertEquals(13, first.getTotalCount());
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new CountMinSketch(3, 1024)));
+    }
+
+    @Test
+    void serialization() {
+        CountMinSketch sketch = new CountMinSketch(5, 2000);
+        assertEquals(2048, sketch.getWidth());
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("key-" + (i % 100), i);
+        }
+        byte[] bytes = sketch.toByteArray();
+        assertTrue(bytes.length < 5 * 2048 * 2);
+        CountMinSketch restored = CountMinSketch.fromByteArray(bytes);
+        assertEquals(sketch.getTotalCount(), restored.getTotalCount());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(sketch.estimateCount("key-" + i), restored.estimateCount("key-" + i));
+        }
+        assertArrayEquals(bytes, restored.toByteArray());
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.fromByteArray(new byte[]{1, 0, 0}));
+        byte[] truncated = {1, 0, 0, 0, 2, 64, 0, 0, 0};
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.fromByteArray(truncated));
+    }
+
+    @Test
+    void dimensionsAreValidatedAfterRounding() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(2, (1 << 29) + 1));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(1e-9, 0.999999));
+    }
+}
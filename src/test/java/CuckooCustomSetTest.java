@@ -0,0 +1,117 @@
+import collection_domain.set_domain.CuckooCustomSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CuckooCustomSetTest {
+    CuckooCustomSet<Integer> customSet;
+    List<Integer> expected = new ArrayList<>(Arrays.asList(2, 3, 5, 7, 11, 13, 17, 19));
+
+    @BeforeEach
+    void setUp() {
+        customSet = new CuckooCustomSet<>(2);
+        for (Integer i : expected) {
+            customSet.add(i);
+        }
+    }
+
+    @Test
+    void addContainsRemove() {
+        assertEquals(expected.size(), customSet.size());
+        assertFalse(customSet.add(2));
+        assertFalse(customSet.add(null));
+        assertTrue(customSet.contains(19));
+        assertFalse(customSet.contains(100));
+        assertTrue(customSet.remove(19));
+        assertFalse(customSet.remove(19));
+        assertFalse(customSet.contains(19));
+        assertEquals(expected.size() - 1, customSet.size());
+    }
+
+    @Test
+    void iteratorAndToArray() {
+        int count = 0;
+        for (Integer num : customSet) {
+            assertTrue(expected.contains(num));
+            count++;
+        }
+        assertEquals(expected.size(), count);
+        assertEquals(expected.size(), customSet.toArray().length);
+    }
+
+    @Test
+    void removeIfRetainAllClear() {
+        assertTrue(customSet.removeIf(e -> e <= 5));
+        assertEquals(5, customSet.size());
+        customSet.retainAll(List.of(7, 11));
+        assertEquals(2, customSet.size());
+        customSet.clear();
+        assertTrue(customSet.isEmpty());
+        assertFalse(customSet.contains(7));
+    }
+
+    @Test
+    void matchesHashSetUnderChurn() {
+        CuckooCustomSet<Integer> set = new CuckooCustomSet<>();
+        Set<Integer> reference = new HashSet<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 200_000; i++) {
+            int value = random.nextInt(5_000);
+            if (random.nextInt(3) > 0) {
+                assertEquals(reference.add(value), set.add(value));
+            } else {
+                assertEquals(reference.remove(value), set.remove(value));
+            }
+        }
+        assertEquals(reference.size(), set.size());
+        for (int i = 0; i < 5_000; i++) {
+            assertEquals(reference.contains(i), set.contains(i));
+        }
+    }
+
+    @Test
+    void collidingKeysOverflowIntoStash() {
+        CuckooCustomSet<CollidingKey> set = new CuckooCustomSet<>();
+        for (int i = 0; i < 20; i++) {
+            assertTrue(set.add(new CollidingKey(i)));
+        }
+        assertEquals(20, set.size());
+        for (int i = 0; i < 20; i++) {
+            assertTrue(set.contains(new CollidingKey(i)));
+        }
+        for (int i = 0; i < 20; i += 2) {
+            assertTrue(set.remove(new CollidingKey(i)));
+        }
+        assertEquals(10, set.size());
+        assertEquals(10, set.toArray().length);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i % 2 == 1, set.contains(new CollidingKey(i)));
+        }
+    }
+
+    static class CollidingKey {
+        final int value;
+
+        CollidingKey(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+}
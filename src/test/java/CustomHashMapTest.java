@@ -0,0 +1,157 @@
+import collection_domain.ICollection;
+import collection_domain.map_domain.CustomHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomHashMapTest {
+    CustomHashMap<String, Integer> map;
+    List<String> keys = new ArrayList<>(Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h"));
+
+    @BeforeEach
+    void setUp() {
+        map = new CustomHashMap<>(2);
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), i);
+        }
+    }
+
+    @Test
+    void putGetRemove() {
+        assertEquals(keys.size(), map.size());
+        assertEquals(2, map.get("c"));
+        assertNull(map.get("z"));
+        assertNull(map.get(null));
+        assertNull(map.put(null, 1));
+        assertNull(map.put("z", null));
+        assertEquals(2, map.put("c", 20));
+        assertEquals(20, map.get("c"));
+        assertEquals(20, map.putIfAbsent("c", 30));
+        assertNull(map.putIfAbsent("z", 30));
+        assertEquals(30, map.get("z"));
+        assertEquals(30, map.remove("z"));
+        assertNull(map.remove("z"));
+        assertEquals(-1, map.getOrDefault("z", -1));
+        assertTrue(map.containsKey("a"));
+        assertTrue(map.containsValue(20));
+        assertFalse(map.containsValue(2));
+        assertEquals(keys.size(), map.size());
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("a"));
+    }
+
+    @Test
+    void randomOperations() {
+        Random random = new Random(11);
+        CustomHashMap<Integer, Integer> actual = new CustomHashMap<>();
+        Map<Integer, Integer> reference = new HashMap<>();
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), actual.remove(key));
+            } else {
+                assertEquals(reference.put(key, i), actual.put(key, i));
+            }
+        }
+        assertEquals(reference.size(), actual.size());
+        reference.forEach((k, v) -> assertEquals(v, actual.get(k)));
+        actual.forEach((k, v) -> assertEquals(v, reference.get(k)));
+    }
+
+    @Test
+    void computeIfAbsent() {
+        assertEquals(0, map.computeIfAbsent("a", k -> 100));
+        assertEquals(100, map.computeIfAbsent("x", k -> 100));
+        assertNull(map.computeIfAbsent("y", k -> null));
+        assertFalse(map.containsKey("y"));
+        assertEquals(keys.size() + 1, map.size());
+        assertThrows(ConcurrentModificationException.class, () -> map.computeIfAbsent("w", k -> map.put("v", 1)));
+    }
+
+    @Test
+    void merge() {
+        CustomHashMap<String, Integer> counts = new CustomHashMap<>();
+        for (String word : "to be or not to be".split(" ")) {
+            counts.merge(word, 1, Integer::sum);
+        }
+        assertEquals(4, counts.size());
+        assertEquals(2, counts.get("to"));
+        assertEquals(1, counts.get("or"));
+        assertNull(counts.merge("to", 1, (a, b) -> null));
+        assertFalse(counts.containsKey("to"));
+        assertEquals(3, counts.size());
+    }
+
+    @Test
+    void views() {
+        ICollection<String> keyView = map.keys();
+        ICollection<Integer> valueView = map.values();
+        ICollection<Map.Entry<String, Integer>> entryView = map.entries();
+        assertEquals(keys.size(), keyView.size());
+        assertTrue(keyView.containsAll(keys));
+        assertTrue(valueView.contains(7));
+        assertTrue(entryView.contains(Map.entry("b", 1)));
+        assertFalse(entryView.contains(Map.entry("b", 2)));
+        assertThrows(UnsupportedOperationException.class, () -> keyView.add("z"));
+
+        assertTrue(keyView.remove("a"));
+        assertFalse(map.containsKey("a"));
+        assertTrue(valueView.remove(1));
+        assertFalse(map.containsKey("b"));
+        assertTrue(entryView.remove(Map.entry("c", 2)));
+        assertFalse(entryView.remove(Map.entry("d", 100)));
+        assertEquals(keys.size() - 3, map.size());
+
+        assertTrue(valueView.removeIf(v -> v % 2 == 0));
+        assertArrayEquals(new Object[]{"d", "f", "h"}, sorted(keyView.toArray()));
+        for (Map.Entry<String, Integer> entry : entryView) {
+            entry.setValue(entry.getValue() * 10);
+        }
+        assertEquals(30, map.get("d"));
+        assertEquals(70, map.get("h"));
+        keyView.retainAll(Arrays.asList("d", "h"));
+        assertEquals(2, map.size());
+        int count = 0;
+        for (String key : keyView) {
+            assertTrue(map.containsKey(key));
+            count++;
+        }
+        assertEquals(2, count);
+    }
+
+    @Test
+    void removeIfSeesIntactMap() {
+        CustomHashMap<Integer, Integer> numbers = new CustomHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            numbers.put(i, i);
+        }
+        assertTrue(numbers.keys().removeIf(k -> numbers.get(k + 1) == null));
+        assertEquals(9, numbers.size());
+        assertFalse(numbers.containsKey(9));
+        assertThrows(IllegalStateException.class, () -> numbers.values().removeIf(v -> {
+            if (v == 5) {
+                throw new IllegalStateException("Faulty predicate");
+            }
+            return true;
+        }));
+        assertEquals(9, numbers.size());
+        for (int i = 0; i < 9; i++) {
+            assertEquals(i, numbers.get(i));
+        }
+    }
+
+    private static Object[] sorted(Object[] array) {
+        Arrays.sort(array);
+        return array;
+    }
+}
@@ -0,0 +1,131 @@
+import collection_domain.set_domain.CustomMultiset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomMultisetTest {
+    CustomMultiset<String> multiset;
+
+    @BeforeEach
+    void setUp() {
+        multiset = new CustomMultiset<>(2);
+        for (String word : "the cat and the dog and the bird".split(" ")) {
+            multiset.add(word);
+        }
+    }
+
+    @Test
+    void addCountRemove() {
+        assertEquals(5, multiset.size());
+        assertEquals(8, multiset.totalCount());
+        assertEquals(3, multiset.count("the"));
+        assertEquals(0, multiset.count("fish"));
+        assertFalse(multiset.add(null));
+        assertEquals(3, multiset.add("the", 10));
+        assertEquals(13, multiset.count("the"));
+        assertEquals(0, multiset.add("fish", 0));
+        assertFalse(multiset.contains("fish"));
+        assertTrue(multiset.remove("cat"));
+        assertFalse(multiset.contains("cat"));
+        assertFalse(multiset.remove("cat"));
+        assertEquals(2, multiset.remove("and", 1));
+        assertEquals(1, multiset.count("and"));
+        assertEquals(13, multiset.setCount("the", 4));
+        assertEquals(4, multiset.count("the"));
+        assertEquals(4, multiset.setCount("the", 0));
+        assertFalse(multiset.contains("the"));
+        assertEquals(3, multiset.size());
+        assertEquals(3, multiset.totalCount());
+        assertThrows(IllegalArgumentException.class, () -> multiset.add("dog", -1));
+    }
+
+    @Test
+    void randomOperations() {
+        Random random = new Random(3);
+        CustomMultiset<Integer> actual = new CustomMultiset<>();
+        Map<Integer, Long> reference = new HashMap<>();
+        for (int i = 0; i < 50000; i++) {
+            int value = random.nextInt(2000);
+            long n = random.nextInt(5);
+            if (random.nextInt(3) == 0) {
+                long before = reference.getOrDefault(value, 0L);
+                assertEquals(before, actual.remove(value, n));
+                if (before <= n) {
+                    reference.remove(value);
+                } else {
+                    reference.put(value, before - n);
+                }
+            } else if (n > 0) {
+                assertEquals((long) reference.getOrDefault(value, 0L), actual.add(value, n));
+                reference.merge(value, n, Long::sum);
+            }
+        }
+        assertEquals(reference.size(), actual.size());
+        assertEquals(reference.values().stream().mapToLong(Long::longValue).sum(), actual.totalCount());
+        actual.forEachEntry((e, count) -> assertEquals(reference.get(e), count));
+    }
+
+    @Test
+    void topK() {
+        assertEquals(Arrays.asList("the", "and"), multiset.topK(2));
+        multiset.add("bird", 5);
+        List<String> top = multiset.topK(3);
+        assertEquals(Arrays.asList("bird", "the", "and"), top);
+        assertEquals(5, multiset.topK(100).size());
+        assertTrue(multiset.topK(0).isEmpty());
+
+        CustomMultiset<Integer> numbers = new CustomMultiset<>();
+        for (int i = 1; i <= 1000; i++) {
+            numbers.add(i, i);
+        }
+        assertEquals(Arrays.asList(1000, 999, 998, 997, 996), numbers.topK(5));
+    }
+
+    @Test
+    void removeIfSeesIntactMultiset() {
+        CustomMultiset<Integer> numbers = new CustomMultiset<>();
+        for (int i = 0; i < 10; i++) {
+            numbers.add(i, 3);
+        }
+        assertThrows(IllegalStateException.class, () -> numbers.removeIf(n -> {
+            if (n == 5) {
+                throw new IllegalStateException("Faulty predicate");
+            }
+            return true;
+        }));
+        assertEquals(10, numbers.size());
+        assertEquals(30, numbers.totalCount());
+        assertTrue(numbers.removeIf(n -> numbers.count(n + 1) == 0));
+        assertEquals(9, numbers.size());
+        assertEquals(27, numbers.totalCount());
+        assertFalse(numbers.contains(9));
+    }
+
+    @Test
+    void countOverflow() {
+        multiset.add("big", Long.MAX_VALUE - 8);
+        assertThrows(ArithmeticException.class, () -> multiset.add("fish", 1));
+        assertThrows(ArithmeticException.class, () -> multiset.setCount("the", 4));
+        assertFalse(multiset.contains("fish"));
+        assertEquals(3, multiset.count("the"));
+        assertEquals(Long.MAX_VALUE, multiset.totalCount());
+    }
+
+    @Test
+    void bulkOperations() {
+        assertTrue(multiset.removeIf(w -> w.length() == 3));
+        assertEquals(1, multiset.size());
+        assertEquals(1, multiset.totalCount());
+        assertArrayEquals(new Object[]{"bird"}, multiset.toArray());
+        multiset.clear();
+        assertTrue(multiset.isEmpty());
+        assertEquals(0, multiset.totalCount());
+    }
+}
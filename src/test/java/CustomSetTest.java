@@ -1,15 +1,59 @@
+import collection_domain.set_domain.BloomFilter;
 import collection_domain.set_domain.CustomSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class CustomSetTest {
+    private static class CollidingKey implements Comparable<CollidingKey> {
+        final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int compareTo(CollidingKey o) {
+            return Integer.compare(id, o.id);
+        }
+    }
+
+    private static class NonComparableCollidingKey {
+        final int id;
+
+        NonComparableCollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof NonComparableCollidingKey && ((NonComparableCollidingKey) o).id == id;
+        }
+    }
+
     CustomSet<Integer> customSet;
     List<Integer> expected = new ArrayList<>(Arrays.asList(2, 3, 5, 7, 11, 13, 17, 19));
 
@@ -133,4 +177,159 @@ class CustomSetTest {
         customSet.clear();
         assertEquals(0, customSet.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void withExpectedSize() {
+        CustomSet<Integer> presized = CustomSet.withExpectedSize(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(presized.add(i));
+        }
+        assertEquals(100_000, presized.size());
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(presized.contains(i));
+        }
+        assertFalse(presized.contains(100_000));
+    }
+
+    @Test
+    void addWithNegativeAndMinValueHashes() {
+        customSet = new CustomSet<>(3);
+        assertTrue(customSet.add(Integer.MIN_VALUE));
+        assertTrue(customSet.add(-1));
+        for (int i = 0; i < 1000; i++) {
+            customSet.add(-i * 31);
+        }
+        assertTrue(customSet.contains(Integer.MIN_VALUE));
+        assertTrue(customSet.remove(Integer.MIN_VALUE));
+        assertFalse(customSet.contains(Integer.MIN_VALUE));
+        assertEquals(1001, customSet.size());
+    }
+
+    @Test
+    void incrementalResize() {
+        CustomSet<Integer> incremental = new CustomSet<>(4, 0.75, true);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(incremental.add(i));
+            assertFalse(incremental.add(i / 2));
+        }
+        for (int i = 0; i < 10_000; i += 3) {
+            assertTrue(incremental.remove(i));
+        }
+        int count = 0;
+        for (Integer num : incremental) {
+            assertNotEquals(0, num % 3);
+            count++;
+        }
+        assertEquals(incremental.size(), count);
+        assertEquals(incremental.size(), incremental.toArray().length);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i % 3 != 0, incremental.contains(i));
+        }
+        incremental.removeIf(e -> e % 2 == 0);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i % 3 != 0 && i % 2 != 0, incremental.contains(i));
+        }
+    }
+
+    @Test
+    void treeifiedBucketsWithCollidingKeys() {
+        CustomSet<Object> colliding = new CustomSet<>();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(colliding.add(new CollidingKey(i)));
+            assertTrue(colliding.add(new NonComparableCollidingKey(i)));
+        }
+        assertFalse(colliding.add(new CollidingKey(500)));
+        assertFalse(colliding.add(new NonComparableCollidingKey(500)));
+        assertEquals(2000, colliding.size());
+        assertTrue(colliding.contains(new CollidingKey(999)));
+        assertFalse(colliding.contains(new CollidingKey(1000)));
+        for (int i = 0; i < 998; i++) {
+            assertTrue(colliding.remove(new CollidingKey(i)));
+            assertTrue(colliding.remove(new NonComparableCollidingKey(i)));
+        }
+        assertEquals(4, colliding.size());
+        assertEquals(4, colliding.toArray().length);
+        assertTrue(colliding.contains(new NonComparableCollidingKey(998)));
+        assertFalse(colliding.contains(new NonComparableCollidingKey(0)));
+    }
+
+    @Test
+    void bloomFilter() {
+        CustomSet<Integer> filtered = new CustomSet<>();
+        filtered.enableBloomFilter(0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtered.add(i * 2);
+        }
+        BloomFilter bloomFilter = filtered.getBloomFilter();
+        assertFalse(filtered.add(2));
+        assertEquals(0, bloomFilter.getPositiveCount() + bloomFilter.getNegativeCount());
+        long negativesBefore = bloomFilter.getNegativeCount();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtered.contains(i * 2));
+            assertFalse(filtered.contains(i * 2 + 1));
+        }
+        long negatives = bloomFilter.getNegativeCount() - negativesBefore;
+        assertTrue(negatives > 9_000);
+        assertTrue(bloomFilter.getObservedFalsePositiveRate() < 0.05);
+        for (int i = 0; i < 8_000; i++) {
+            assertTrue(filtered.remove(i * 2));
+        }
+        assertEquals(2_000, filtered.size());
+        for (int i = 8_000; i < 10_000; i++) {
+            assertTrue(filtered.contains(i * 2));
+        }
+        filtered.clear();
+        assertFalse(filtered.contains(19_998));
+        filtered.disableBloomFilter();
+        assertNull(filtered.getBloomFilter());
+    }
+
+    @Test
+    void setAlgebra() {
+        CustomSet<Integer> evens = new CustomSet<>();
+        CustomSet<Integer> triples = new CustomSet<>(4, 0.75, true);
+        Set<Integer> evensReference = new HashSet<>();
+        Set<Integer> triplesReference = new HashSet<>();
+        for (int i = 0; i < 20_000; i += 2) {
+            evens.add(i);
+            evensReference.add(i);
+        }
+        for (int i = 0; i < 15_000; i += 3) {
+            triples.add(i);
+            triplesReference.add(i);
+        }
+        for (boolean parallel : new boolean[]{false, true}) {
+            Set<Integer> union = new HashSet<>(evensReference);
+            union.addAll(triplesReference);
+            assertSameElements(union, evens.union(triples, parallel));
+            Set<Integer> intersection = new HashSet<>(evensReference);
+            intersection.retainAll(triplesReference);
+            assertSameElements(intersection, evens.intersect(triples, parallel));
+            Set<Integer> difference = new HashSet<>(evensReference);
+            difference.removeAll(triplesReference);
+            assertSameElements(difference, evens.difference(triples, parallel));
+            Set<Integer> symmetricDifference = new HashSet<>(union);
+            symmetricDifference.removeAll(intersection);
+            assertSameElements(symmetricDifference, evens.symmetricDifference(triples, parallel));
+        }
+        assertSameElements(evensReference, evens);
+        assertSameElements(triplesReference, triples);
+        CustomSet<Integer> intersection = evens.intersect(triples);
+        assertTrue(intersection.add(1));
+        assertTrue(intersection.contains(6));
+        assertThrows(IllegalArgumentException.class, () -> evens.union(null));
+    }
+
+    private static void assertSameElements(Set<Integer> expected, CustomSet<Integer> actual) {
+        assertEquals(expected.size(), actual.size());
+        int count = 0;
+        for (Integer e : actual) {
+            assertTrue(expected.contains(e));
+            count++;
+        }
+        assertEquals(expected.size(), count);
+        for (Integer e : expected) {
+            assertTrue(actual.contains(e));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+import collection_domain.sketch_domain.HyperLogLog;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void cardinality() {
+        HyperLogLog hll = new HyperLogLog();
+        assertEquals(0, hll.cardinality());
+        for (int i = 0; i < 100000; i++) {
+            hll.add("user-" + i);
+            hll.add("user-" + (i / 2));
+        }
+        assertFalse(hll.add(null));
+        assertEquals(100000, hll.cardinality(), 100000 * 3 * hll.getRelativeError());
+    }
+
+    @Test
+    void smallCardinality() {
+        HyperLogLog hll = new HyperLogLog(10);
+        for (int i = 0; i < 50; i++) {
+            hll.add(i);
+        }
+        assertEquals(50, hll.cardinality(), 2);
+        hll.clear();
+        assertEquals(0, hll.cardinality());
+    }
+
+    @Test
+    void merge() {
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        for (int i = 0; i < 30000; i++) {
+            first.add(i);
+            second.add(i + 15000);
+        }
+        first.merge(second);
+        assertEquals(45000, first.cardinality(), 45000 * 3 * first.getRelativeError());
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog(13)));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+    }
+
+    @Test
+    void serialization() {
+        HyperLogLog hll = new HyperLogLog(11);
+        for (int i = 0; i < 10000; i++) {
+            hll.add(i);
+        }
+        byte[] bytes = hll.toByteArray();
+        assertEquals(2 + (2048 * 6) / 8, bytes.length);
+        HyperLogLog restored = HyperLogLog.fromByteArray(bytes);
+        assertEquals(hll.getPrecision(), restored.getPrecision());
+        assertEquals(hll.cardinality(), restored.cardinality());
+        assertArrayEquals(bytes, restored.toByteArray());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromByteArray(new byte[]{1, 11, 0}));
+    }
+}
@@ -0,0 +1,104 @@
+import collection_domain.set_domain.IntHashSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntHashSetTest {
+    IntHashSet intSet;
+    final int[] expected = {0, 2, 3, 5, 7, -11, 13, Integer.MIN_VALUE, Integer.MAX_VALUE};
+
+    @BeforeEach
+    void setUp() {
+        intSet = new IntHashSet(2);
+        assertTrue(intSet.addAll(expected));
+    }
+
+    @Test
+    void addContainsRemove() {
+        assertEquals(expected.length, intSet.size());
+        assertTrue(intSet.containsAll(expected));
+        assertFalse(intSet.contains(100));
+        assertFalse(intSet.add(0));
+        assertTrue(intSet.remove(0));
+        assertFalse(intSet.contains(0));
+        assertFalse(intSet.remove(0));
+        assertTrue(intSet.remove(Integer.MIN_VALUE));
+        assertEquals(expected.length - 2, intSet.size());
+    }
+
+    @Test
+    void toArrayForEachIterator() {
+        int[] res = intSet.toArray();
+        Arrays.sort(res);
+        int[] sorted = expected.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(sorted, res);
+        long[] sum = {0};
+        intSet.forEach(value -> sum[0] += value);
+        assertEquals(Arrays.stream(expected).asLongStream().sum(), sum[0]);
+        int count = 0;
+        for (PrimitiveIterator.OfInt it = intSet.iterator(); it.hasNext(); it.nextInt()) {
+            count++;
+        }
+        assertEquals(expected.length, count);
+    }
+
+    @Test
+    void removeIfRetainAllClear() {
+        assertTrue(intSet.removeIf(value -> value <= 0));
+        assertEquals(6, intSet.size());
+        IntHashSet other = new IntHashSet();
+        other.addAll(2, 3, 100);
+        assertTrue(intSet.retainAll(other));
+        assertEquals(2, intSet.size());
+        intSet.clear();
+        assertTrue(intSet.isEmpty());
+    }
+
+    @Test
+    void removeIfSeesIntactSet() {
+        IntHashSet numbers = new IntHashSet(2);
+        for (int i = 0; i < 10; i++) {
+            numbers.add(i);
+        }
+        assertThrows(IllegalStateException.class, () -> numbers.removeIf(value -> {
+            if (value == 5) {
+                throw new IllegalStateException("Faulty predicate");
+            }
+            return true;
+        }));
+        assertEquals(10, numbers.size());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(numbers.contains(i));
+        }
+        assertTrue(numbers.removeIf(value -> !numbers.contains(value + 1)));
+        assertEquals(9, numbers.size());
+        assertFalse(numbers.contains(9));
+    }
+
+    @Test
+    void matchesHashSet() {
+        IntHashSet set = IntHashSet.withExpectedSize(10);
+        Set<Integer> reference = new HashSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            int value = random.nextInt(5_000) - 2_500;
+            if (random.nextInt(3) > 0) {
+                assertEquals(reference.add(value), set.add(value));
+            } else {
+                assertEquals(reference.remove(value), set.remove(value));
+            }
+        }
+        assertEquals(reference.size(), set.size());
+        for (int i = -2_500; i < 2_500; i++) {
+            assertEquals(reference.contains(i), set.contains(i));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+import collection_domain.set_domain.LinkedCustomSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkedCustomSetTest {
+    LinkedCustomSet<Integer> customSet;
+    List<Integer> expected = new ArrayList<>(Arrays.asList(19, 2, 17, 3, 13, 5, 11, 7));
+
+    @BeforeEach
+    void setUp() {
+        customSet = new LinkedCustomSet<>(2);
+        for (Integer i : expected) {
+            customSet.add(i);
+        }
+    }
+
+    @Test
+    void addContainsRemove() {
+        assertEquals(expected.size(), customSet.size());
+        assertFalse(customSet.add(2));
+        assertFalse(customSet.add(null));
+        assertTrue(customSet.contains(19));
+        assertFalse(customSet.contains(100));
+        assertTrue(customSet.remove(19));
+        assertFalse(customSet.remove(19));
+        assertFalse(customSet.contains(19));
+        assertEquals(expected.size() - 1, customSet.size());
+    }
+
+    @Test
+    void insertionOrder() {
+        assertArrayEquals(expected.toArray(), customSet.toArray());
+        List<Integer> iterated = new ArrayList<>();
+        customSet.forEach(iterated::add);
+        assertEquals(expected, iterated);
+        customSet.remove(2);
+        customSet.add(2);
+        customSet.contains(19);
+        assertEquals(List.of(19, 17, 3, 13, 5, 11, 7, 2), Arrays.asList(customSet.toArray()));
+        assertEquals(19, customSet.eldest());
+    }
+
+    @Test
+    void accessOrderAndEviction() {
+        LinkedCustomSet<String> lru = new LinkedCustomSet<>(4, true);
+        lru.add("a");
+        lru.add("b");
+        lru.add("c");
+        assertTrue(lru.contains("a"));
+        assertFalse(lru.add("b"));
+        assertEquals(List.of("c", "a", "b"), Arrays.asList(lru.toArray()));
+        assertEquals("c", lru.removeEldest());
+        assertEquals("a", lru.eldest());
+        assertEquals(2, lru.size());
+        lru.clear();
+        assertNull(lru.removeEldest());
+    }
+
+    @Test
+    void removeIfRetainAllClear() {
+        assertTrue(customSet.removeIf(e -> e <= 5));
+        assertEquals(List.of(19, 17, 13, 11, 7), Arrays.asList(customSet.toArray()));
+        customSet.retainAll(List.of(7, 11));
+        assertEquals(List.of(11, 7), Arrays.asList(customSet.toArray()));
+        customSet.clear();
+        assertTrue(customSet.isEmpty());
+        assertFalse(customSet.contains(7));
+        assertFalse(customSet.iterator().hasNext());
+    }
+
+    @Test
+    void matchesLinkedHashSetUnderChurn() {
+        LinkedCustomSet<Integer> set = new LinkedCustomSet<>();
+        LinkedHashSet<Integer> reference = new LinkedHashSet<>();
+        Random random = new Random(29);
+        for (int i = 0; i < 200_000; i++) {
+            int value = random.nextInt(3_000);
+            if (random.nextBoolean()) {
+                assertEquals(reference.add(value), set.add(value));
+            } else {
+                assertEquals(reference.remove(value), set.remove(value));
+            }
+        }
+        assertEquals(reference.size(), set.size());
+        assertArrayEquals(reference.toArray(), set.toArray());
+        for (int i = 0; i < 3_000; i++) {
+            assertEquals(reference.contains(i), set.contains(i));
+        }
+    }
+}
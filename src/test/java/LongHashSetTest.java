@@ -0,0 +1,84 @@
+import collection_domain.set_domain.LongHashSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashSetTest {
+    LongHashSet longSet;
+    final long[] expected = {0L, 2L, -3L, 1L << 40, Long.MIN_VALUE, Long.MAX_VALUE};
+
+    @BeforeEach
+    void setUp() {
+        longSet = new LongHashSet(2);
+        assertTrue(longSet.addAll(expected));
+    }
+
+    @Test
+    void addContainsRemove() {
+        assertEquals(expected.length, longSet.size());
+        assertTrue(longSet.containsAll(expected));
+        assertFalse(longSet.contains(1L << 41));
+        assertFalse(longSet.add(1L << 40));
+        assertTrue(longSet.remove(1L << 40));
+        assertTrue(longSet.remove(0L));
+        assertFalse(longSet.contains(0L));
+        assertEquals(expected.length - 2, longSet.size());
+    }
+
+    @Test
+    void toArrayAndRemoveIf() {
+        long[] res = longSet.toArray();
+        Arrays.sort(res);
+        long[] sorted = expected.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(sorted, res);
+        assertTrue(longSet.removeIf(value -> value < 0));
+        assertEquals(4, longSet.size());
+        longSet.clear();
+        assertTrue(longSet.isEmpty());
+    }
+
+    @Test
+    void removeIfSeesIntactSet() {
+        LongHashSet numbers = new LongHashSet(2);
+        for (long i = 0; i < 10; i++) {
+            numbers.add(i);
+        }
+        assertThrows(IllegalStateException.class, () -> numbers.removeIf(value -> {
+            if (value == 5L) {
+                throw new IllegalStateException("Faulty predicate");
+            }
+            return true;
+        }));
+        assertEquals(10, numbers.size());
+        for (long i = 0; i < 10; i++) {
+            assertTrue(numbers.contains(i));
+        }
+        assertTrue(numbers.removeIf(value -> !numbers.contains(value + 1)));
+        assertEquals(9, numbers.size());
+        assertFalse(numbers.contains(9L));
+    }
+
+    @Test
+    void matchesHashSet() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> reference = new HashSet<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 100_000; i++) {
+            long value = (random.nextInt(5_000) - 2_500) * 0x1_0000_0001L;
+            if (random.nextInt(3) > 0) {
+                assertEquals(reference.add(value), set.add(value));
+            } else {
+                assertEquals(reference.remove(value), set.remove(value));
+            }
+        }
+        assertEquals(reference.size(), set.size());
+        reference.forEach(value -> assertTrue(set.contains(value)));
+    }
+}
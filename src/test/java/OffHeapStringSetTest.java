@@ -0,0 +1,123 @@
+import collection_domain.set_domain.OffHeapStringSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapStringSetTest {
+    OffHeapStringSet customSet;
+    List<String> expected = new ArrayList<>(Arrays.asList("alpha", "beta", "gamma", "δέλτα", "日本", "emoji😀"));
+
+    @BeforeEach
+    void setUp() {
+        customSet = new OffHeapStringSet(2);
+        for (String s : expected) {
+            customSet.add(s);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        customSet.close();
+    }
+
+    @Test
+    void addContainsRemove() {
+        assertEquals(expected.size(), customSet.size());
+        assertFalse(customSet.add("alpha"));
+        assertFalse(customSet.add((String) null));
+        assertTrue(customSet.contains("日本"));
+        assertFalse(customSet.contains("omega"));
+        assertTrue(customSet.remove("日本"));
+        assertFalse(customSet.remove("日本"));
+        assertFalse(customSet.contains("日本"));
+        assertEquals(expected.size() - 1, customSet.size());
+    }
+
+    @Test
+    void keyRepresentationsAreInterchangeable() {
+        byte[] utf8 = "δέλτα".getBytes(StandardCharsets.UTF_8);
+        assertTrue(customSet.contains(utf8));
+        assertTrue(customSet.contains(new StringBuilder("emoji").appendCodePoint(0x1F600)));
+        ByteBuffer direct = ByteBuffer.allocateDirect(16);
+        direct.put("zeta".getBytes(StandardCharsets.UTF_8)).flip();
+        assertTrue(customSet.add(direct));
+        assertEquals(0, direct.position());
+        assertTrue(customSet.contains("zeta"));
+        assertFalse(customSet.add("zeta".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(customSet.remove(new StringBuilder("zeta")));
+        assertFalse(customSet.contains(direct));
+    }
+
+    @Test
+    void iteratorAndToArray() {
+        int count = 0;
+        for (String s : customSet) {
+            assertTrue(expected.contains(s));
+            count++;
+        }
+        assertEquals(expected.size(), count);
+        assertEquals(expected.size(), customSet.toArray().length);
+    }
+
+    @Test
+    void removeIfRetainAllClear() {
+        assertTrue(customSet.removeIf(s -> s.startsWith("a")));
+        assertEquals(expected.size() - 1, customSet.size());
+        customSet.retainAll(List.of("beta", "gamma"));
+        assertEquals(2, customSet.size());
+        assertTrue(customSet.contains("gamma"));
+        customSet.clear();
+        assertTrue(customSet.isEmpty());
+        assertFalse(customSet.contains("beta"));
+    }
+
+    @Test
+    void removeIfSeesIntactSet() {
+        assertThrows(IllegalStateException.class, () -> customSet.removeIf(s -> {
+            if (s.equals("gamma")) {
+                throw new IllegalStateException("Faulty predicate");
+            }
+            return true;
+        }));
+        assertEquals(expected.size(), customSet.size());
+        assertTrue(customSet.containsAll(expected));
+        assertFalse(customSet.removeIf(s -> customSet.contains(s + "!")));
+        assertTrue(customSet.add("beta!"));
+        assertTrue(customSet.removeIf(s -> customSet.contains(s + "!")));
+        assertFalse(customSet.contains("beta"));
+        assertTrue(customSet.contains("beta!"));
+    }
+
+    @Test
+    void matchesHashSetUnderChurnAndCompaction() {
+        OffHeapStringSet set = OffHeapStringSet.withExpectedSize(1_000);
+        Set<String> reference = new HashSet<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 300_000; i++) {
+            String value = "key-" + random.nextInt(50_000);
+            if (random.nextBoolean()) {
+                assertEquals(reference.add(value), set.add(value));
+            } else {
+                assertEquals(reference.remove(value), set.remove(value));
+            }
+        }
+        assertEquals(reference.size(), set.size());
+        for (int i = 0; i < 50_000; i++) {
+            assertEquals(reference.contains("key-" + i), set.contains("key-" + i));
+        }
+        assertTrue(set.getOffHeapBytes() > 0);
+        set.close();
+        assertThrows(IllegalStateException.class, () -> set.contains("key-1"));
+    }
+}
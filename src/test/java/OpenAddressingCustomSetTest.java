@@ -0,0 +1,118 @@
+import collection_domain.set_domain.OpenAddressingCustomSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAddressingCustomSetTest {
+    OpenAddressingCustomSet<Integer> customSet;
+    List<Integer> expected = new ArrayList<>(Arrays.asList(2, 3, 5, 7, 11, 13, 17, 19));
+
+    @BeforeEach
+    void setUp() {
+        customSet = new OpenAddressingCustomSet<>(4);
+        for (Integer i : expected) {
+            customSet.add(i);
+        }
+    }
+
+    @Test
+    void sizeAndContains() {
+        assertEquals(expected.size(), customSet.size());
+        for (Integer num : expected) {
+            assertTrue(customSet.contains(num));
+        }
+        assertFalse(customSet.contains(100));
+        assertFalse(customSet.contains(null));
+    }
+
+    @Test
+    void add() {
+        assertFalse(customSet.add(2));
+        assertFalse(customSet.add(null));
+        assertTrue(customSet.add(1));
+        assertEquals(expected.size() + 1, customSet.size());
+    }
+
+    @Test
+    void remove() {
+        assertFalse(customSet.remove(1));
+        assertTrue(customSet.remove(5));
+        assertEquals(expected.size() - 1, customSet.size());
+        assertFalse(customSet.contains(5));
+    }
+
+    @Test
+    void iteratorAndToArray() {
+        int count = 0;
+        for (Integer integer : customSet) {
+            assertTrue(expected.contains(integer));
+            count++;
+        }
+        assertEquals(expected.size(), count);
+        assertEquals(expected.size(), customSet.toArray().length);
+    }
+
+    @Test
+    void removeIfAndRetainAll() {
+        assertTrue(customSet.removeIf(e -> e <= 5));
+        assertEquals(5, customSet.size());
+        customSet.retainAll(List.of(7, 11));
+        assertEquals(2, customSet.size());
+        assertTrue(customSet.containsAll(List.of(7, 11)));
+    }
+
+    @Test
+    void removeIfSeesIntactSet() {
+        OpenAddressingCustomSet<Integer> numbers = new OpenAddressingCustomSet<>(2);
+        for (int i = 0; i < 10; i++) {
+            numbers.add(i);
+        }
+        assertThrows(IllegalStateException.class, () -> numbers.removeIf(n -> {
+            if (n == 5) {
+                throw new IllegalStateException("Faulty predicate");
+            }
+            return true;
+        }));
+        assertEquals(10, numbers.size());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(numbers.contains(i));
+        }
+        assertTrue(numbers.removeIf(n -> !numbers.contains(n + 1)));
+        assertEquals(9, numbers.size());
+        assertFalse(numbers.contains(9));
+    }
+
+    @Test
+    void clear() {
+        customSet.clear();
+        assertTrue(customSet.isEmpty());
+        assertFalse(customSet.contains(2));
+    }
+
+    @Test
+    void backwardShiftDeletionWithCollisions() {
+        OpenAddressingCustomSet<Integer> set = new OpenAddressingCustomSet<>(16, 0.9);
+        Set<Integer> reference = new HashSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int value = random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                assertEquals(reference.add(value), set.add(value));
+            } else {
+                assertEquals(reference.remove(value), set.remove(value));
+            }
+        }
+        assertEquals(reference.size(), set.size());
+        for (int i = 0; i < 2_000; i++) {
+            assertEquals(reference.contains(i), set.contains(i));
+        }
+    }
+}
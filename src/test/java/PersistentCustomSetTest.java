@@ -0,0 +1,169 @@
+import collection_domain.set_domain.PersistentCustomSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentCustomSetTest {
+    PersistentCustomSet<Integer> customSet;
+    List<Integer> expected = new ArrayList<>(Arrays.asList(2, 3, 5, 7, 11, 13, 17, 19));
+
+    @BeforeEach
+    void setUp() {
+        customSet = PersistentCustomSet.empty();
+        for (Integer i : expected) {
+            customSet = customSet.with(i);
+        }
+    }
+
+    @Test
+    void withWithout() {
+        assertEquals(expected.size(), customSet.size());
+        assertSame(customSet, customSet.with(2));
+        assertSame(customSet, customSet.with(null));
+        assertSame(customSet, customSet.without(100));
+        PersistentCustomSet<Integer> removed = customSet.without(19);
+        assertFalse(removed.contains(19));
+        assertTrue(customSet.contains(19));
+        assertEquals(expected.size() - 1, removed.size());
+        assertEquals(expected.size(), customSet.size());
+    }
+
+    @Test
+    void versions() {
+        List<PersistentCustomSet<Integer>> versions = new ArrayList<>();
+        PersistentCustomSet<Integer> current = PersistentCustomSet.empty();
+        for (int i = 0; i < 1000; i++) {
+            versions.add(current);
+            current = current.with(i);
+        }
+        for (int i = 0; i < versions.size(); i++) {
+            PersistentCustomSet<Integer> version = versions.get(i);
+            assertEquals(i, version.size());
+            assertTrue(i == 0 || version.contains(i - 1));
+            assertFalse(version.contains(i));
+        }
+        PersistentCustomSet<Integer> shrunk = current;
+        for (int i = 0; i < 1000; i += 2) {
+            shrunk = shrunk.without(i);
+        }
+        assertEquals(500, shrunk.size());
+        assertEquals(1000, current.size());
+        assertTrue(current.contains(0));
+        assertFalse(shrunk.contains(0));
+        assertTrue(shrunk.contains(1));
+    }
+
+    @Test
+    void randomOperations() {
+        Random random = new Random(7);
+        Set<Integer> reference = new HashSet<>();
+        PersistentCustomSet<Integer> current = PersistentCustomSet.empty();
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextInt(3000);
+            if (random.nextBoolean()) {
+                reference.add(value);
+                current = current.with(value);
+            } else {
+                reference.remove(value);
+                current = current.without(value);
+            }
+        }
+        assertEquals(reference.size(), current.size());
+        Set<Integer> actual = new HashSet<>();
+        for (Integer i : current) {
+            assertTrue(actual.add(i));
+        }
+        assertEquals(reference, actual);
+    }
+
+    @Test
+    void collisions() {
+        PersistentCustomSet<CollidingKey> current = PersistentCustomSet.empty();
+        for (int i = 0; i < 10; i++) {
+            current = current.with(new CollidingKey(i));
+        }
+        current = current.with(new CollidingKey(3));
+        assertEquals(10, current.size());
+        assertTrue(current.contains(new CollidingKey(7)));
+        PersistentCustomSet<CollidingKey> removed = current;
+        for (int i = 0; i < 9; i++) {
+            removed = removed.without(new CollidingKey(i));
+        }
+        assertEquals(1, removed.size());
+        assertTrue(removed.contains(new CollidingKey(9)));
+        assertEquals(1, removed.toArray().length);
+        assertTrue(removed.without(new CollidingKey(9)).isEmpty());
+        assertEquals(10, current.toArray().length);
+    }
+
+    @Test
+    void builder() {
+        PersistentCustomSet.Builder<Integer> builder = customSet.toBuilder();
+        for (int i = 100; i < 10100; i++) {
+            builder.add(i);
+        }
+        builder.remove(2);
+        PersistentCustomSet<Integer> built = builder.build();
+        assertEquals(expected.size() + 9999, built.size());
+        assertFalse(built.contains(2));
+        assertTrue(customSet.contains(2));
+        assertEquals(expected.size(), customSet.size());
+        // edits after build must not leak into the built version
+        builder.remove(100).add(5000000);
+        assertTrue(built.contains(100));
+        assertFalse(built.contains(5000000));
+        assertEquals(expected.size() + 9999, built.size());
+        assertEquals(built.size(), builder.size());
+        assertEquals(built.size(), built.toArray().length);
+    }
+
+    @Test
+    void bulkOperations() {
+        PersistentCustomSet<Integer> all = customSet.withAll(Arrays.asList(1, 2, 4));
+        assertEquals(expected.size() + 2, all.size());
+        assertTrue(all.containsAll(Arrays.asList(1, 4, 19)));
+        PersistentCustomSet<Integer> odd = all.withoutIf(i -> i % 2 == 0);
+        assertFalse(odd.contains(2));
+        assertFalse(odd.contains(4));
+        assertEquals(expected.size() - 1 + 1, odd.size());
+        PersistentCustomSet<Integer> fewer = all.withoutAll(Arrays.asList(1, 3));
+        assertEquals(expected.size(), fewer.size());
+        assertFalse(fewer.contains(3));
+        assertEquals(expected.size() + 2, all.size());
+        assertEquals(customSet.size(), PersistentCustomSet.<Integer>builder().addAll(expected).build().size());
+    }
+
+    @Test
+    void mutatorsUnsupported() {
+        assertThrows(UnsupportedOperationException.class, () -> customSet.add(1));
+        assertThrows(UnsupportedOperationException.class, () -> customSet.remove(2));
+        assertThrows(UnsupportedOperationException.class, () -> customSet.clear());
+        assertThrows(UnsupportedOperationException.class, () -> customSet.removeIf(i -> true));
+    }
+
+    static class CollidingKey {
+        final int value;
+
+        CollidingKey(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+}
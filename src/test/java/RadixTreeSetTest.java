@@ -0,0 +1,119 @@
+import collection_domain.set_domain.RadixTreeSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixTreeSetTest {
+    RadixTreeSet customSet;
+    List<String> expected = new ArrayList<>(Arrays.asList(
+            "/api/v1/users", "/api/v2/users", "/api/v2/users/1", "/api/v2/orders", "/static", "/", "romane", "romanus"));
+
+    @BeforeEach
+    void setUp() {
+        customSet = new RadixTreeSet();
+        for (String s : expected) {
+            customSet.add(s);
+        }
+    }
+
+    @Test
+    void addContainsRemove() {
+        assertEquals(expected.size(), customSet.size());
+        assertFalse(customSet.add("/static"));
+        assertFalse(customSet.add(null));
+        assertTrue(customSet.contains("/api/v2/users"));
+        assertFalse(customSet.contains("/api/v2"));
+        assertFalse(customSet.contains("roman"));
+        assertTrue(customSet.add("roman"));
+        assertTrue(customSet.contains("roman"));
+        assertTrue(customSet.remove("/api/v2/users"));
+        assertFalse(customSet.remove("/api/v2/users"));
+        assertTrue(customSet.contains("/api/v2/users/1"));
+        assertFalse(customSet.remove("/api"));
+        assertTrue(customSet.add(""));
+        assertTrue(customSet.contains(""));
+        assertTrue(customSet.remove(""));
+        assertEquals(expected.size(), customSet.size());
+    }
+
+    @Test
+    void sortedIteration() {
+        assertArrayEquals(new TreeSet<>(expected).toArray(), customSet.toArray());
+    }
+
+    @Test
+    void prefixIterator() {
+        assertEquals(Arrays.asList("/api/v2/orders", "/api/v2/users", "/api/v2/users/1"),
+                collect(customSet.prefixIterator("/api/v2/")));
+        assertEquals(Arrays.asList("/api/v2/users", "/api/v2/users/1"), collect(customSet.prefixIterator("/api/v2/u")));
+        assertEquals(Arrays.asList("romane", "romanus"), collect(customSet.prefixIterator("rom")));
+        assertEquals(List.of("/api/v2/users/1"), collect(customSet.prefixIterator("/api/v2/users/1")));
+        assertTrue(collect(customSet.prefixIterator("/api/v3")).isEmpty());
+        assertTrue(collect(customSet.prefixIterator("/api/v2/users/12")).isEmpty());
+        assertEquals(expected.size(), collect(customSet.prefixIterator("")).size());
+        assertEquals(6, customSet.countWithPrefix("/"));
+        assertEquals(3, customSet.countWithPrefix("/api/v2/"));
+        assertEquals(2, customSet.countWithPrefix("/api/v2/u"));
+        assertEquals(expected.size(), customSet.countWithPrefix(""));
+        assertEquals(0, customSet.countWithPrefix("/api/v3"));
+        assertEquals(0, customSet.countWithPrefix(null));
+    }
+
+    @Test
+    void longestPrefixMatch() {
+        assertEquals("/api/v2/users", customSet.longestPrefixMatch("/api/v2/users?page=2"));
+        assertEquals("/api/v2/users/1", customSet.longestPrefixMatch("/api/v2/users/1"));
+        assertEquals("/", customSet.longestPrefixMatch("/api/v3"));
+        assertNull(customSet.longestPrefixMatch("api"));
+        customSet.add("");
+        assertEquals("", customSet.longestPrefixMatch("api"));
+    }
+
+    @Test
+    void randomOperations() {
+        Random random = new Random(9);
+        RadixTreeSet actual = new RadixTreeSet();
+        TreeSet<String> reference = new TreeSet<>();
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                sb.append((char) ('a' + random.nextInt(3)));
+            }
+            String s = sb.toString();
+            if (random.nextBoolean()) {
+                assertEquals(reference.add(s), actual.add(s));
+            } else {
+                assertEquals(reference.remove(s), actual.remove(s));
+            }
+        }
+        assertEquals(reference.size(), actual.size());
+        assertArrayEquals(reference.toArray(), actual.toArray());
+        assertEquals(new ArrayList<>(reference.subSet("ab", "ac")), collect(actual.prefixIterator("ab")));
+    }
+
+    @Test
+    void removeIfAndClear() {
+        assertTrue(customSet.removeIf(s -> s.startsWith("/api")));
+        assertArrayEquals(new Object[]{"/", "/static", "romane", "romanus"}, customSet.toArray());
+        customSet.retainAll(List.of("romanus"));
+        assertArrayEquals(new Object[]{"romanus"}, customSet.toArray());
+        customSet.clear();
+        assertTrue(customSet.isEmpty());
+        assertFalse(customSet.iterator().hasNext());
+    }
+
+    private static List<String> collect(Iterator<String> iterator) {
+        List<String> res = new ArrayList<>();
+        iterator.forEachRemaining(res::add);
+        return res;
+    }
+}
@@ -0,0 +1,135 @@
+import collection_domain.set_domain.RoaringIntSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoaringIntSetTest {
+    RoaringIntSet intSet;
+    final int[] expected = {0, 2, 3, 5, 7, -11, 13, 70_000, Integer.MIN_VALUE, Integer.MAX_VALUE};
+
+    @BeforeEach
+    void setUp() {
+        intSet = new RoaringIntSet();
+        assertTrue(intSet.addAll(expected));
+    }
+
+    @Test
+    void addContainsRemove() {
+        assertEquals(expected.length, intSet.size());
+        assertTrue(intSet.containsAll(expected));
+        assertFalse(intSet.contains(100));
+        assertFalse(intSet.add(0));
+        assertTrue(intSet.remove(0));
+        assertFalse(intSet.contains(0));
+        assertFalse(intSet.remove(0));
+        assertTrue(intSet.remove(Integer.MIN_VALUE));
+        assertEquals(expected.length - 2, intSet.size());
+    }
+
+    @Test
+    void toArrayForEachIterator() {
+        int[] res = intSet.toArray();
+        Arrays.sort(res);
+        int[] sorted = expected.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(sorted, res);
+        int[] count = {0};
+        intSet.forEach(value -> count[0]++);
+        assertEquals(expected.length, count[0]);
+        PrimitiveIterator.OfInt it = intSet.iterator();
+        int iterated = 0;
+        while (it.hasNext()) {
+            assertTrue(intSet.contains(it.nextInt()));
+            iterated++;
+        }
+        assertEquals(expected.length, iterated);
+    }
+
+    @Test
+    void removeIfRetainAllClear() {
+        assertTrue(intSet.removeIf(value -> value < 0));
+        assertEquals(expected.length - 2, intSet.size());
+        RoaringIntSet other = new RoaringIntSet();
+        other.addAll(2, 3, 70_000, 99);
+        assertTrue(intSet.retainAll(other));
+        assertEquals(3, intSet.size());
+        intSet.clear();
+        assertTrue(intSet.isEmpty());
+        assertFalse(intSet.contains(2));
+    }
+
+    @Test
+    void denseSetsSwitchContainersAndCompress() {
+        RoaringIntSet dense = new RoaringIntSet();
+        for (int i = 0; i < 200_000; i++) {
+            dense.add(i);
+        }
+        assertEquals(200_000, dense.size());
+        assertTrue(dense.getSizeInBytes() < 200_000 / 4);
+        dense.runOptimize();
+        assertTrue(dense.getSizeInBytes() < 100);
+        assertTrue(dense.contains(123_456));
+        assertTrue(dense.remove(123_456));
+        assertFalse(dense.contains(123_456));
+        assertTrue(dense.add(123_456));
+        assertEquals(200_000, dense.size());
+        RoaringIntSet sparse = new RoaringIntSet();
+        sparse.addAll(5, 65_536, 199_999, 200_000, -1);
+        assertEquals(3, dense.and(sparse).size());
+        assertEquals(200_002, dense.or(sparse).size());
+        assertEquals(199_997, dense.andNot(sparse).size());
+        assertEquals(2, sparse.andNot(dense).size());
+    }
+
+    @Test
+    void setOperationsMatchHashSet() {
+        Random random = new Random(17);
+        for (int round = 0; round < 3; round++) {
+            RoaringIntSet first = new RoaringIntSet();
+            RoaringIntSet second = new RoaringIntSet();
+            Set<Integer> firstReference = new HashSet<>();
+            Set<Integer> secondReference = new HashSet<>();
+            int range = round == 0 ? 1 << 20 : 300_000;
+            int count = round == 2 ? 250_000 : 20_000;
+            for (int i = 0; i < count; i++) {
+                int a = random.nextInt(range);
+                int b = random.nextInt(range);
+                assertEquals(firstReference.add(a), first.add(a));
+                assertEquals(secondReference.add(b), second.add(b));
+            }
+            if (round == 1) {
+                first.runOptimize();
+            }
+            for (int i = 0; i < count / 4; i++) {
+                int a = random.nextInt(range);
+                assertEquals(firstReference.remove(a), first.remove(a));
+            }
+            Set<Integer> and = new HashSet<>(firstReference);
+            and.retainAll(secondReference);
+            assertSame(and, first.and(second));
+            Set<Integer> or = new HashSet<>(firstReference);
+            or.addAll(secondReference);
+            assertSame(or, first.or(second));
+            Set<Integer> andNot = new HashSet<>(firstReference);
+            andNot.removeAll(secondReference);
+            assertSame(andNot, first.andNot(second));
+            assertSame(firstReference, first);
+        }
+    }
+
+    private static void assertSame(Set<Integer> expected, RoaringIntSet actual) {
+        assertEquals(expected.size(), actual.size());
+        int[] values = actual.toArray();
+        assertEquals(expected.size(), values.length);
+        for (int value : values) {
+            assertTrue(expected.contains(value));
+        }
+    }
+}
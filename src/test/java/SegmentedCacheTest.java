@@ -0,0 +1,68 @@
+import collection_domain.cache_domain.CacheStatistics;
+import collection_domain.cache_domain.EvictionPolicy;
+import collection_domain.cache_domain.SegmentedCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentedCacheTest {
+
+    @Test
+    void concurrentAccessStaysBounded() throws InterruptedException {
+        AtomicLong evicted = new AtomicLong();
+        SegmentedCache<Integer, Integer> cache = new SegmentedCache<>(8, 1_024, EvictionPolicy.TINY_LFU, null,
+                (key, value) -> evicted.incrementAndGet());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int seed = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    int key = (i * 31 + seed) % 4_000;
+                    if (cache.get(key) == null) {
+                        cache.put(key, key);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(cache.size() <= 1_024);
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(200_000, statistics.getRequestCount());
+        assertEquals(evicted.get(), statistics.getEvictionCount());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void getPutRemove() {
+        SegmentedCache<String, Integer> cache = new SegmentedCache<>(100, EvictionPolicy.LRU);
+        assertNull(cache.put("a", 1));
+        assertEquals(1, cache.get("a"));
+        assertTrue(cache.containsKey("a"));
+        assertEquals(1, cache.remove("a"));
+        assertFalse(cache.containsKey("a"));
+        assertEquals(0, cache.getWeightedSize());
+    }
+
+    @Test
+    void segmentWeightsAddUpToMaximumWeight() {
+        SegmentedCache<Integer, Integer> small = new SegmentedCache<>(16, 10, EvictionPolicy.LRU, (k, v) -> 1, null);
+        for (int i = 0; i < 1_000; i++) {
+            small.put(i, i);
+            assertTrue(small.getWeightedSize() <= 10);
+        }
+        assertTrue(small.size() <= 10);
+
+        SegmentedCache<Integer, Integer> large = new SegmentedCache<>(16, 1_600, EvictionPolicy.LRU, (k, v) -> v, null);
+        assertNull(large.put(1, 100));
+        assertTrue(large.containsKey(1));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedCache<>(16, 0, EvictionPolicy.LRU, null, null));
+    }
+}
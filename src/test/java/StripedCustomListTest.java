@@ -0,0 +1,113 @@
+import collection_domain.ICollection;
+import collection_domain.list_domain.linked_list.StripedCustomList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StripedCustomListTest {
+    private ICollection<Integer> numbers;
+    private final Integer[] arrNumbers = {10, 7, 11, -2, 13, 10, 2000};
+    final ExecutorService executorService = Executors.newFixedThreadPool(10);
+
+    @BeforeEach
+    void setUp() {
+        numbers = new StripedCustomList<>(4);
+        Arrays.stream(arrNumbers).forEach(n -> numbers.add(n));
+    }
+
+    @Test
+    void testAddSizeContains() {
+        assertEquals(arrNumbers.length, numbers.size());
+        assertTrue(numbers.contains(-2));
+        assertFalse(numbers.contains(54));
+        assertFalse(numbers.add(null));
+    }
+
+    @Test
+    void testRemove() {
+        assertTrue(numbers.remove(10));
+        assertTrue(numbers.contains(10));
+        assertTrue(numbers.remove(10));
+        assertFalse(numbers.contains(10));
+        assertFalse(numbers.remove(10));
+        assertEquals(arrNumbers.length - 2, numbers.size());
+    }
+
+    @Test
+    void testToArrayAndIterator() {
+        Object[] res = numbers.toArray();
+        Arrays.sort(res);
+        Integer[] expected = arrNumbers.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, res);
+        int count = 0;
+        for (Integer num : numbers) {
+            assertTrue(Arrays.asList(arrNumbers).contains(num));
+            count++;
+        }
+        assertEquals(arrNumbers.length, count);
+    }
+
+    @Test
+    void testRemoveIf() {
+        assertTrue(numbers.removeIf(num -> num >= 10 && num < 13));
+        assertEquals(4, numbers.size());
+        assertTrue(numbers.containsAll(List.of(7, -2, 13, 2000)));
+        assertFalse(numbers.removeIf(num -> num == 100));
+    }
+
+    @Test
+    void testRemoveIfWithThrowingPredicate() {
+        numbers = new StripedCustomList<>(1);
+        for (int i = 0; i < 100; i++) {
+            numbers.add(i);
+        }
+        assertThrows(IllegalStateException.class, () -> numbers.removeIf(n -> {
+            if (n == 50) {
+                throw new IllegalStateException("Faulty predicate");
+            }
+            return n % 2 == 0;
+        }));
+        assertEquals(100, numbers.size());
+        assertEquals(100, numbers.toArray().length);
+    }
+
+    @Test
+    void testRetainAllRemoveAll() {
+        numbers.retainAll(List.of(10, 7, 11));
+        assertEquals(4, numbers.size());
+        numbers.removeAll(List.of(10));
+        assertEquals(2, numbers.size());
+    }
+
+    @Test
+    void testClearAndIsEmpty() {
+        numbers.clear();
+        assertTrue(numbers.isEmpty());
+        assertEquals(0, numbers.size());
+    }
+
+    @Test
+    public void testThreadSafeAddRemove() throws InterruptedException {
+        numbers = new StripedCustomList<>();
+        for (int i = 0; i < 1000; i++) {
+            final int value = i;
+            executorService.submit(() -> {
+                numbers.add(value);
+                numbers.add(value + 1000);
+                numbers.remove(value);
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+        assertEquals(1000, numbers.size());
+        assertEquals(1000, numbers.toArray().length);
+    }
+}
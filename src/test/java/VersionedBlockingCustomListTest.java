@@ -0,0 +1,138 @@
+import collection_domain.list_domain.linked_list.VersionedBlockingCustomList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VersionedBlockingCustomListTest {
+    private VersionedBlockingCustomList<Integer> numbers;
+    private final Integer[] arrNumbers = {10, 7, 11, -2, 13, 10, 2000};
+    final ExecutorService executorService = Executors.newFixedThreadPool(10);
+
+    @BeforeEach
+    void setUp() {
+        numbers = new VersionedBlockingCustomList<>();
+        Arrays.stream(arrNumbers).forEach(n -> numbers.add(n));
+    }
+
+    @Test
+    void testAddGetSize() {
+        assertEquals(arrNumbers.length, numbers.size());
+        for (int i = 0; i < arrNumbers.length; ++i) {
+            assertEquals(arrNumbers[i], numbers.get(i));
+        }
+        assertArrayEquals(arrNumbers, numbers.toArray());
+    }
+
+    @Test
+    void testAddOnIndex() {
+        assertTrue(numbers.add(1, 44));
+        assertTrue(numbers.add(0, 66));
+        assertTrue(numbers.add(8, 3000));
+        Integer[] expected = {66, 10, 44, 7, 11, -2, 13, 10, 2000, 3000};
+        assertArrayEquals(expected, numbers.toArray());
+    }
+
+    @Test
+    void testIndexOfAndRemove() {
+        assertEquals(0, numbers.indexOf(10));
+        assertEquals(5, numbers.lastIndexOf(10));
+        assertEquals(11, numbers.remove(2));
+        assertTrue(numbers.remove((Integer) 2000));
+        assertFalse(numbers.remove((Integer) 2000));
+        Integer[] expected = {10, 7, -2, 13, 10};
+        assertArrayEquals(expected, numbers.toArray());
+        assertTrue(numbers.removeAll(10));
+        assertArrayEquals(new Integer[]{7, -2, 13}, numbers.toArray());
+    }
+
+    @Test
+    void testSortAndSet() {
+        numbers.sort((o1, o2) -> o2 - o1);
+        assertArrayEquals(new Integer[]{2000, 13, 11, 10, 10, 7, -2}, numbers.toArray());
+        assertTrue(numbers.set(5, 0));
+        assertEquals(5, numbers.get(0));
+    }
+
+    @Test
+    void testSnapshotIsStable() {
+        VersionedBlockingCustomList<Integer>.Snapshot snapshot = numbers.snapshot();
+        numbers.add(100);
+        numbers.remove(0);
+        numbers.set(42, 0);
+        numbers.sort(Integer::compare);
+        assertArrayEquals(arrNumbers, snapshot.toArray());
+        assertEquals(arrNumbers.length, snapshot.size());
+        assertEquals(11, snapshot.get(2));
+        assertTrue(snapshot.contains(10));
+        assertFalse(snapshot.contains(100));
+        assertArrayEquals(new Integer[]{-2, 10, 11, 13, 42, 100, 2000}, numbers.toArray());
+        snapshot.close();
+        assertEquals(0, numbers.getActiveSnapshotsCount());
+        assertThrows(IllegalStateException.class, snapshot::iterator);
+        assertArrayEquals(new Integer[]{-2, 10, 11, 13, 42, 100, 2000}, numbers.toArray());
+    }
+
+    @Test
+    void testNestedSnapshots() {
+        VersionedBlockingCustomList<Integer>.Snapshot first = numbers.snapshot();
+        numbers.removeIf(n -> n >= 10);
+        VersionedBlockingCustomList<Integer>.Snapshot second = numbers.snapshot();
+        numbers.clear();
+        assertTrue(numbers.isEmpty());
+        assertEquals(2, numbers.getActiveSnapshotsCount());
+        first.close();
+        assertArrayEquals(new Integer[]{7, -2}, second.toArray());
+        second.close();
+        numbers.addAll(List.of(1, 2));
+        assertArrayEquals(new Integer[]{1, 2}, numbers.toArray());
+    }
+
+    @Test
+    void testFailedRemoveIfKeepsSnapshotsConsistent() {
+        VersionedBlockingCustomList<Integer> list = new VersionedBlockingCustomList<>();
+        Integer[] expected = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+        Arrays.stream(expected).forEach(list::add);
+        VersionedBlockingCustomList<Integer>.Snapshot held = list.snapshot();
+        int[] calls = {0};
+        assertThrows(IllegalStateException.class, () -> list.removeIf(n -> {
+            if (++calls[0] == 6) {
+                throw new IllegalStateException("Faulty predicate");
+            }
+            return true;
+        }));
+        assertEquals(expected.length, list.size());
+        VersionedBlockingCustomList<Integer>.Snapshot fresh = list.snapshot();
+        assertArrayEquals(expected, fresh.toArray());
+        assertArrayEquals(expected, held.toArray());
+        fresh.close();
+        held.close();
+        assertTrue(list.removeIf(n -> n % 2 == 0));
+        assertArrayEquals(new Integer[]{1, 3, 5, 7, 9}, list.toArray());
+    }
+
+    @Test
+    public void testSnapshotWhileWriting() throws InterruptedException {
+        VersionedBlockingCustomList<Integer>.Snapshot snapshot = numbers.snapshot();
+        for (int i = 0; i < 100; i++) {
+            final int value = i + 10000;
+            executorService.submit(() -> {
+                numbers.add(value);
+                numbers.remove((Integer) value);
+            });
+        }
+        for (int i = 0; i < 10; i++) {
+            assertArrayEquals(arrNumbers, snapshot.toArray());
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+        snapshot.close();
+        assertArrayEquals(arrNumbers, numbers.toArray());
+    }
+}